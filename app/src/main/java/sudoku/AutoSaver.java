@@ -0,0 +1,139 @@
+package sudoku;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Writes saved games on a background thread. Requests made within the
+ * delay of each other are coalesced: only the newest bytes are written,
+ * once, so a burst of keystrokes costs one file write.
+ */
+public class AutoSaver implements Closeable
+{
+    private Path path;
+    private long delayMillis;
+    private AtomicReference<byte[]> pending = new AtomicReference<>();
+    private ScheduledExecutorService executor;
+    private AtomicLong requests = new AtomicLong();
+    private AtomicLong writes = new AtomicLong();
+
+    /**
+     * @param path file to save to
+     * @param delayMillis how long to wait for more changes before writing
+     */
+    public AutoSaver(Path path, long delayMillis)
+    {
+        this.path = path;
+        this.delayMillis = delayMillis;
+        executor = Executors.newSingleThreadScheduledExecutor(r ->
+        {
+            Thread thread = new Thread(r, "autosave");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Queues bytes to be saved, replacing any not yet written.
+     * @param data encoded snapshot; must not be changed afterwards
+     */
+    public void request(byte[] data)
+    {
+        requests.incrementAndGet();
+        if (pending.getAndSet(data) == null)
+        {
+            executor.schedule(this::flush, delayMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Writes the newest queued bytes, if any, on the calling thread.
+     */
+    public void flush()
+    {
+        byte[] data = pending.getAndSet(null);
+        if (data == null)
+        {
+            return;
+        }
+        try
+        {
+            GameSnapshot.writeAtomically(path, data);
+            writes.incrementAndGet();
+        }
+        catch (IOException e)
+        {
+            System.err.println("Could not save game to " + path + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Drops any queued bytes without writing them, and waits for a write
+     * already under way to finish.
+     */
+    public void cancel()
+    {
+        pending.set(null);
+        try
+        {
+            executor.submit(() -> { }).get();
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+        catch (ExecutionException | RejectedExecutionException e)
+        {
+            // shut down: nothing can be writing
+        }
+    }
+
+    /**
+     * Stops the background thread and writes anything still queued.
+     */
+    public void close()
+    {
+        executor.shutdown();
+        try
+        {
+            executor.awaitTermination(delayMillis + 1000, TimeUnit.MILLISECONDS);
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+
+    /**
+     * @return file the games are saved to
+     */
+    public Path getPath()
+    {
+        return path;
+    }
+
+    /**
+     * @return saves requested so far
+     */
+    public long getRequests()
+    {
+        return requests.get();
+    }
+
+    /**
+     * @return files actually written so far
+     */
+    public long getWrites()
+    {
+        return writes.get();
+    }
+}
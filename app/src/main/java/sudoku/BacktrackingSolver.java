@@ -0,0 +1,190 @@
+package sudoku;
+
+/**
+ * Backtracking solver driven by a ConstraintEngine and an explicit stack.
+ * The stack holds at most one entry per cell, so its depth is bounded
+ * by 81 however much the search backtracks, and nothing is allocated
+ * while searching.
+ */
+public class BacktrackingSolver implements SudokuSolver
+{
+    private ConstraintEngine engine;
+    private int[] stackCells = new int[81];
+    private int[] stackTried = new int[81];
+
+    public BacktrackingSolver()
+    {
+        this(new ConstraintEngine());
+    }
+
+    /**
+     * @param engine masks to search with, shared with the caller
+     */
+    public BacktrackingSolver(ConstraintEngine engine)
+    {
+        this.engine = engine;
+    }
+
+    public boolean solve(int[][] grid)
+    {
+        if (!engine.load(grid))
+        {
+            return false;
+        }
+        return search(grid, 1, true) == 1;
+    }
+
+    public int countSolutions(int[][] grid, int limit)
+    {
+        if (!engine.load(grid))
+        {
+            return 0;
+        }
+        return search(grid, limit, false);
+    }
+
+    /**
+     * Fills the empty cells from (row, col) onward in row-major order,
+     * trying numbers in ascending order. The engine must already match
+     * the grid.
+     * @param grid grid to fill
+     * @param row starting row
+     * @param col starting column
+     * @param num first number to try in the starting cell
+     * @return true if the grid was completed
+     */
+    public boolean solveFrom(int[][] grid, int row, int col, int num)
+    {
+        int count = 0;
+        for (int pos = row * 9 + col; pos < 81; pos++)
+        {
+            if (grid[pos / 9][pos % 9] == 0)
+            {
+                stackCells[count] = pos;
+                stackTried[count] = 0;
+                count++;
+            }
+        }
+        if (count > 0 && stackCells[0] == row * 9 + col)
+        {
+            stackTried[0] = num - 1;
+        }
+
+        int depth = 0;
+        while (depth >= 0 && depth < count)
+        {
+            int r = stackCells[depth] / 9;
+            int c = stackCells[depth] % 9;
+            setCell(grid, r, c, 0);
+            int avail = engine.candidates(r, c) & (ConstraintEngine.ALL << stackTried[depth]);
+            if (avail == 0)
+            {
+                stackTried[depth] = 0;
+                depth--;
+            }
+            else
+            {
+                int next = Integer.numberOfTrailingZeros(avail) + 1;
+                setCell(grid, r, c, next);
+                stackTried[depth] = next;
+                depth++;
+            }
+        }
+        return depth == count;
+    }
+
+    /**
+     * Depth-first search that always branches on the empty cell with the
+     * fewest candidates. stackTried holds the candidates still untried
+     * at each depth.
+     * @param grid grid to search, engine already loaded from it
+     * @param limit stop after this many solutions
+     * @param keep leave the last solution in the grid instead of restoring it
+     * @return number of solutions found, at most limit
+     */
+    private int search(int[][] grid, int limit, boolean keep)
+    {
+        int found = 0;
+        int depth = 0;
+        boolean forward = true;
+        while (depth >= 0)
+        {
+            if (forward)
+            {
+                int best = -1;
+                int bestCount = 10;
+                for (int pos = 0; pos < 81 && bestCount > 1; pos++)
+                {
+                    if (grid[pos / 9][pos % 9] == 0)
+                    {
+                        int n = Integer.bitCount(engine.candidates(pos / 9, pos % 9));
+                        if (n < bestCount)
+                        {
+                            best = pos;
+                            bestCount = n;
+                        }
+                    }
+                }
+                if (best < 0)
+                {
+                    found++;
+                    if (found >= limit)
+                    {
+                        break;
+                    }
+                    forward = false;
+                    depth--;
+                    continue;
+                }
+                stackCells[depth] = best;
+                stackTried[depth] = engine.candidates(best / 9, best % 9);
+            }
+
+            int r = stackCells[depth] / 9;
+            int c = stackCells[depth] % 9;
+            setCell(grid, r, c, 0);
+            int avail = stackTried[depth];
+            if (avail == 0)
+            {
+                forward = false;
+                depth--;
+            }
+            else
+            {
+                stackTried[depth] = avail & (avail - 1);
+                setCell(grid, r, c, Integer.numberOfTrailingZeros(avail) + 1);
+                forward = true;
+                depth++;
+            }
+        }
+
+        if (!keep || found == 0)
+        {
+            for (int i = depth - 1; i >= 0; i--)
+            {
+                setCell(grid, stackCells[i] / 9, stackCells[i] % 9, 0);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Writes a cell and keeps the engine in step with the grid.
+     * @param grid grid to write
+     * @param row row index
+     * @param col column index
+     * @param num number to write, 0 to clear the cell
+     */
+    private void setCell(int[][] grid, int row, int col, int num)
+    {
+        if (grid[row][col] != 0)
+        {
+            engine.unplace(row, col, grid[row][col]);
+        }
+        grid[row][col] = num;
+        if (num != 0)
+        {
+            engine.place(row, col, num);
+        }
+    }
+}
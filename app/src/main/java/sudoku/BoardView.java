@@ -0,0 +1,330 @@
+package sudoku;
+
+import java.awt.*;
+import java.awt.event.*;
+import java.awt.image.BufferedImage;
+import javax.swing.*;
+
+/**
+ * Draws the 9x9 board as one component instead of 81 text panes.
+ * The grid lines, cell backgrounds and given numbers are drawn once per
+ * puzzle into a cached image; each paint copies that image and draws the
+ * selection and the player's numbers on top. Changing a cell repaints only
+ * that cell's rectangle. Keys and mouse clicks go through one listener.
+ */
+public class BoardView extends JComponent
+{
+    public static final int CELL = 60;
+    public static final int SIZE = CELL * 9;
+
+    public static final int INK_NORMAL = 0;
+    public static final int INK_CONFLICT = 1;
+    public static final int INK_CORRECT = 2;
+    public static final int INK_WRONG = 3;
+    public static final int INK_GOLD = 4;
+
+    private static final Color[] INKS = {Color.darkGray, Color.RED, new Color(71, 160, 18), new Color(156, 0, 0), new Color(203, 188, 32)};
+    private static final Font FONT = new Font("Ariel", Font.BOLD, 40);
+
+    /**
+     * Receives edits made on the board.
+     */
+    public interface Listener
+    {
+        /**
+         * Called when the player types into an editable cell.
+         * @param row row index
+         * @param col column index
+         * @param num number typed, or 0 to clear the cell
+         */
+        void cellTyped(int row, int col, int num);
+    }
+
+    private int[][] board = new int[9][9];
+    private boolean[] given = new boolean[81];
+    private int[] ink = new int[81];
+    private int selected = -1;
+    private boolean editable = true;
+    private BufferedImage staticLayer = null;
+    private Listener listener = null;
+
+    public BoardView()
+    {
+        setFocusable(true);
+        setPreferredSize(new Dimension(SIZE, SIZE));
+        addMouseListener(new MouseAdapter()
+        {
+            public void mousePressed(MouseEvent e)
+            {
+                if (e.getX() >= 0 && e.getX() < SIZE && e.getY() >= 0 && e.getY() < SIZE)
+                {
+                    select(e.getY() / CELL, e.getX() / CELL);
+                }
+                requestFocusInWindow();
+            }
+        });
+        addKeyListener(new KeyAdapter()
+        {
+            public void keyTyped(KeyEvent e)
+            {
+                char c = e.getKeyChar();
+                if (e.isControlDown() || e.isMetaDown())
+                {
+                    return;
+                }
+                e.consume();
+                if (selected < 0 || !editable || given[selected] || listener == null)
+                {
+                    return;
+                }
+                int num = c >= '1' && c <= '9' ? c - '0' : 0;
+                listener.cellTyped(selected / 9, selected % 9, num);
+            }
+
+            public void keyPressed(KeyEvent e)
+            {
+                int row = selected < 0 ? 0 : selected / 9;
+                int col = selected < 0 ? 0 : selected % 9;
+                switch (e.getKeyCode())
+                {
+                    case KeyEvent.VK_UP:
+                        row = (row + 8) % 9;
+                        break;
+                    case KeyEvent.VK_DOWN:
+                        row = (row + 1) % 9;
+                        break;
+                    case KeyEvent.VK_LEFT:
+                        col = (col + 8) % 9;
+                        break;
+                    case KeyEvent.VK_RIGHT:
+                        col = (col + 1) % 9;
+                        break;
+                    default:
+                        return;
+                }
+                select(row, col);
+                e.consume();
+            }
+        });
+    }
+
+    /**
+     * Shows a new puzzle. Every non-zero cell is treated as a given, all ink
+     * is reset and the board becomes editable again.
+     * @param board board to show; kept by reference, so later edits to it
+     *        are shown after cellChanged or repaint
+     */
+    public void setPuzzle(int[][] board)
+    {
+        this.board = board;
+        for (int cell = 0; cell < 81; cell++)
+        {
+            given[cell] = board[cell / 9][cell % 9] != 0;
+            ink[cell] = INK_NORMAL;
+        }
+        selected = -1;
+        editable = true;
+        staticLayer = null;
+        repaint();
+    }
+
+    /**
+     * @param listener receives the player's edits
+     */
+    public void setListener(Listener listener)
+    {
+        this.listener = listener;
+    }
+
+    /**
+     * @param row row index
+     * @param col column index
+     * @return true if the cell was filled when the puzzle was shown
+     */
+    public boolean isGiven(int row, int col)
+    {
+        return given[row * 9 + col];
+    }
+
+    /**
+     * @param row row index
+     * @param col column index
+     * @return ink of the cell, one of the INK_ constants
+     */
+    public int getInk(int row, int col)
+    {
+        return ink[row * 9 + col];
+    }
+
+    /**
+     * Sets the color of a player's number and repaints the cell if it changed.
+     * @param row row index
+     * @param col column index
+     * @param value one of the INK_ constants
+     */
+    public void setInk(int row, int col, int value)
+    {
+        int cell = row * 9 + col;
+        if (ink[cell] != value)
+        {
+            ink[cell] = value;
+            repaintCell(row, col);
+        }
+    }
+
+    /**
+     * Turns typing on or off; selection still works while the board is frozen.
+     * @param editable false to ignore typed keys
+     */
+    public void setEditable(boolean editable)
+    {
+        this.editable = editable;
+    }
+
+    /**
+     * @return false once the board has been frozen, e.g. after a win
+     */
+    public boolean isEditable()
+    {
+        return editable;
+    }
+
+    /**
+     * Repaints one cell after its number changed in the board array.
+     * @param row row index
+     * @param col column index
+     */
+    public void cellChanged(int row, int col)
+    {
+        repaintCell(row, col);
+    }
+
+    /**
+     * Moves the highlight to a cell, repainting only the old and new cells.
+     * @param row row index
+     * @param col column index
+     */
+    public void select(int row, int col)
+    {
+        int cell = row * 9 + col;
+        if (cell == selected)
+        {
+            return;
+        }
+        if (selected >= 0)
+        {
+            repaintCell(selected / 9, selected % 9);
+        }
+        selected = cell;
+        repaintCell(row, col);
+    }
+
+    private void repaintCell(int row, int col)
+    {
+        repaint(col * CELL, row * CELL, CELL, CELL);
+    }
+
+    protected void paintComponent(Graphics g)
+    {
+        if (staticLayer == null)
+        {
+            staticLayer = renderStaticLayer();
+        }
+        g.drawImage(staticLayer, 0, 0, null);
+
+        Rectangle clip = g.getClipBounds();
+        if (clip == null)
+        {
+            clip = new Rectangle(0, 0, SIZE, SIZE);
+        }
+        int firstRow = Math.max(0, clip.y / CELL);
+        int lastRow = Math.min(8, (clip.y + clip.height - 1) / CELL);
+        int firstCol = Math.max(0, clip.x / CELL);
+        int lastCol = Math.min(8, (clip.x + clip.width - 1) / CELL);
+
+        g.setFont(FONT);
+        ((Graphics2D) g).setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        for (int i = firstRow; i <= lastRow; i++)
+        {
+            for (int j = firstCol; j <= lastCol; j++)
+            {
+                int cell = i * 9 + j;
+                if (cell == selected)
+                {
+                    g.setColor(Color.YELLOW);
+                    fillInside(g, i, j);
+                    if (given[cell])
+                    {
+                        drawNumber(g, i, j, Color.BLACK);
+                    }
+                }
+                if (!given[cell] && board[i][j] != 0)
+                {
+                    drawNumber(g, i, j, INKS[ink[cell]]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Draws the grid lines, cell backgrounds and given numbers.
+     * Cells have a matte border of 1 pixel inside a box, 3 pixels on a box
+     * edge and 7 pixels on the outer edge, as the old text panes did.
+     */
+    private BufferedImage renderStaticLayer()
+    {
+        BufferedImage image = new BufferedImage(SIZE, SIZE, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        g.setColor(Color.BLACK);
+        g.fillRect(0, 0, SIZE, SIZE);
+        g.setFont(FONT);
+        g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        for (int i = 0; i < 9; i++)
+        {
+            for (int j = 0; j < 9; j++)
+            {
+                boolean isGiven = given[i * 9 + j];
+                g.setColor(isGiven ? Color.lightGray : Color.WHITE);
+                fillInside(g, i, j);
+                if (isGiven)
+                {
+                    drawNumber(g, i, j, Color.BLACK);
+                }
+            }
+        }
+        g.dispose();
+        return image;
+    }
+
+    private void fillInside(Graphics g, int row, int col)
+    {
+        int top = edge(row, true);
+        int left = edge(col, true);
+        int bottom = edge(row, false);
+        int right = edge(col, false);
+        g.fillRect(col * CELL + left, row * CELL + top, CELL - left - right, CELL - top - bottom);
+    }
+
+    private static int edge(int index, boolean before)
+    {
+        if (before ? index == 0 : index == 8)
+        {
+            return 7;
+        }
+        if (before ? index % 3 == 0 : index % 3 == 2)
+        {
+            return 3;
+        }
+        return 1;
+    }
+
+    private void drawNumber(Graphics g, int row, int col, Color color)
+    {
+        String text = Integer.toString(board[row][col]);
+        FontMetrics metrics = g.getFontMetrics();
+        int x = col * CELL + (CELL - metrics.stringWidth(text)) / 2;
+        int y = row * CELL + (CELL - metrics.getHeight()) / 2 + metrics.getAscent();
+        g.setColor(color);
+        g.drawString(text, x, y);
+    }
+}
@@ -0,0 +1,368 @@
+package sudoku;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Command-line puzzle generator for bulk content. Generates puzzles on
+ * several threads and streams them as they are finished. The text format
+ * is one puzzle per line: the 81 puzzle digits (0 for blanks), a space,
+ * the 81 solution digits, a space, and the puzzle ID in hex, which
+ * PuzzleGenerator.regenerate turns back into the puzzle. The binary format
+ * is a sequence of 82-byte PuzzleCodec records. Puzzle n of a run always
+ * gets the seed PuzzleGenerator.seedFor(seed, n), so a --seed gives the
+ * same puzzles whatever the thread count, though not in the same order.
+ * Never touches the GUI, so it runs with -Djava.awt.headless=true.
+ *
+ * Usage: java -cp sudoku.jar sudoku.BulkGenerator --count N [--difficulty Easy|Medium|Hard]
+ *        [--threads T] [--seed S] [--out FILE] [--format text|binary] [--rated true|false]
+ *        [--box 2|3|4|5] [--fill search|transform] [--dedup true|false] [--derive N]
+ *
+ *   --rated true      keep only puzzles the DifficultyRater puts in the difficulty
+ *   --box 2|4|5       4x4, 16x16 or 25x25 from GridGenerator, text only, 10+ as letters
+ *   --fill transform  make 9x9 grids by transforming seed grids instead of by search
+ *   --dedup true      remake repeats of earlier puzzles; which is kept depends on timing
+ *   --derive N        write transforms of N rated seed puzzles; keeps the rated difficulty
+ */
+public class BulkGenerator
+{
+    private static final int BATCH = 64;
+    private static final int LINE_BYTES = PuzzleCodec.LINE_CHARS * 2 + 19;
+
+    private long count = 0;
+    private String diff = "Medium";
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private long seed = System.nanoTime();
+    private String out = null;
+    private boolean binary = false;
+    private boolean rated = false;
+    private int box = 3;
+    private boolean transformFill = false;
+    private boolean dedupe = false;
+    private DedupIndex dedup = null;
+    private int derive = 0;
+    private PuzzleDeriver deriver = null;
+
+    private AtomicLong claimed = new AtomicLong();
+    private AtomicLong written = new AtomicLong();
+    private AtomicLong tries = new AtomicLong();
+    private AtomicLong duplicates = new AtomicLong();
+
+    public static void main(String args[]) throws Exception
+    {
+        BulkGenerator bulk = new BulkGenerator();
+        try
+        {
+            bulk.parseArgs(args);
+        }
+        catch (IllegalArgumentException e)
+        {
+            System.err.println(e.getMessage());
+            System.err.println("Usage: java -cp sudoku.jar sudoku.BulkGenerator --count N [--difficulty Easy|Medium|Hard] [--threads T] [--seed S] [--out FILE] [--format text|binary] [--rated true|false] [--box 2|3|4|5] [--fill search|transform] [--dedup true|false] [--derive N]");
+            System.exit(1);
+        }
+        bulk.run();
+    }
+
+    /**
+     * Reads the command-line options.
+     * @param args options as name/value pairs
+     */
+    public void parseArgs(String[] args)
+    {
+        for (int i = 0; i < args.length; i += 2)
+        {
+            if (i + 1 >= args.length)
+            {
+                throw new IllegalArgumentException("Missing value for " + args[i]);
+            }
+            String value = args[i + 1];
+            switch (args[i])
+            {
+                case "--count":
+                    count = Long.parseLong(value);
+                    break;
+                case "--difficulty":
+                    diff = value;
+                    break;
+                case "--threads":
+                    threads = Integer.parseInt(value);
+                    break;
+                case "--seed":
+                    seed = Long.parseLong(value);
+                    break;
+                case "--out":
+                    out = value;
+                    break;
+                case "--format":
+                    if (!value.equals("text") && !value.equals("binary"))
+                    {
+                        throw new IllegalArgumentException("Unknown format " + value);
+                    }
+                    binary = value.equals("binary");
+                    break;
+                case "--rated":
+                    rated = Boolean.parseBoolean(value);
+                    break;
+                case "--box":
+                    box = Integer.parseInt(value);
+                    break;
+                case "--fill":
+                    if (!value.equals("search") && !value.equals("transform"))
+                    {
+                        throw new IllegalArgumentException("Unknown fill " + value);
+                    }
+                    transformFill = value.equals("transform");
+                    break;
+                case "--dedup":
+                    dedupe = Boolean.parseBoolean(value);
+                    break;
+                case "--derive":
+                    derive = Integer.parseInt(value);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+        if (count <= 0)
+        {
+            throw new IllegalArgumentException("--count must be positive");
+        }
+        if (threads <= 0)
+        {
+            throw new IllegalArgumentException("--threads must be positive");
+        }
+        if (new SudokuGenerator().removalTarget(diff) == 0)
+        {
+            throw new IllegalArgumentException("Unknown difficulty " + diff);
+        }
+        if (box < 2 || box > 5)
+        {
+            throw new IllegalArgumentException("--box must be 2 to 5");
+        }
+        if (box != 3 && (binary || rated || transformFill || dedupe))
+        {
+            throw new IllegalArgumentException("--format binary, --rated, --fill transform and --dedup are for 9x9 puzzles only");
+        }
+        if (derive < 0 || derive > 256)
+        {
+            throw new IllegalArgumentException("--derive must be 0 (off) to 256 seed puzzles");
+        }
+        if (derive > 0 && (box != 3 || rated || transformFill || dedupe))
+        {
+            throw new IllegalArgumentException("--derive makes its own rated 9x9 seeds; --box, --rated, --fill and --dedup do not apply");
+        }
+    }
+
+    /**
+     * Generates the puzzles and reports the rate on standard error.
+     */
+    public void run() throws IOException, InterruptedException
+    {
+        long start = System.nanoTime();
+        dedup = dedupe ? new DedupIndex(count) : null;
+        if (derive > 0)
+        {
+            deriver = PuzzleDeriver.generate(derive, diff);
+            System.err.printf("Made %d rated %s seed puzzles in %.2f s%n", derive, diff, (System.nanoTime() - start) / 1e9);
+        }
+        try (OutputStream stream = new BufferedOutputStream(
+            out == null ? System.out : Files.newOutputStream(Paths.get(out)), 1 << 16))
+        {
+            Thread[] workers = new Thread[threads];
+            for (int i = 0; i < threads; i++)
+            {
+                workers[i] = new Thread(() -> generate(stream), "bulk-" + i);
+                workers[i].start();
+            }
+            for (int i = 0; i < threads; i++)
+            {
+                workers[i].join();
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.err.printf("Generated %d %s %s puzzles on %d threads in %.2f s (%.1f puzzles/sec)%n",
+            written.get(), GridSpec.of(box), diff, threads, seconds, written.get() / seconds);
+        if (rated)
+        {
+            System.err.printf("Rated %d puzzles to keep %d (%.1f per puzzle kept)%n",
+                tries.get(), written.get(), (double)tries.get() / Math.max(1, written.get()));
+        }
+        if (dedup != null)
+        {
+            System.err.printf("Rejected %d duplicate puzzles%n", duplicates.get());
+        }
+    }
+
+    /**
+     * Worker loop: claims puzzles one at a time and writes them in batches.
+     * @param stream shared output
+     */
+    private void generate(OutputStream stream)
+    {
+        if (box != 3)
+        {
+            generateSized(stream);
+            return;
+        }
+        if (deriver != null)
+        {
+            generateDerived(stream);
+            return;
+        }
+        SudokuGenerator sg = new SudokuGenerator();
+        sg.setTransformFill(transformFill);
+        CanonicalForm canon = dedup == null ? null : new CanonicalForm();
+        ByteBuffer batch = ByteBuffer.allocate(BATCH * Math.max(LINE_BYTES, PuzzleCodec.RECORD_BYTES));
+        int pending = 0;
+        long index;
+        while ((index = claimed.getAndIncrement()) < count)
+        {
+            long puzzleSeed = PuzzleGenerator.seedFor(seed, index);
+            long id = Puzzle.id(diff, rated, transformFill, puzzleSeed);
+            create(sg, id);
+            for (int retry = 0; canon != null && !dedup.add(canon.canonicalize(sg.getBoard())); retry++)
+            {
+                duplicates.incrementAndGet();
+                id = Puzzle.id(diff, rated, transformFill, PuzzleGenerator.seedFor(puzzleSeed, retry));
+                create(sg, id);
+            }
+            write(sg.getBoard(), sg.getSolution(), id, batch);
+            pending++;
+            if (pending == BATCH)
+            {
+                flush(stream, batch, pending);
+                pending = 0;
+            }
+        }
+        flush(stream, batch, pending);
+    }
+
+    /**
+     * Worker loop for derived puzzles: puzzle n is PuzzleDeriver.derive with
+     * the number PuzzleGenerator.seedFor(seed, n).
+     * @param stream shared output
+     */
+    private void generateDerived(OutputStream stream)
+    {
+        int[][] givens = new int[9][9];
+        int[][] solution = new int[9][9];
+        ByteBuffer batch = ByteBuffer.allocate(BATCH * Math.max(LINE_BYTES, PuzzleCodec.RECORD_BYTES));
+        int pending = 0;
+        long index;
+        while ((index = claimed.getAndIncrement()) < count)
+        {
+            long id = deriver.derive(diff, PuzzleGenerator.seedFor(seed, index), givens, solution);
+            write(givens, solution, id, batch);
+            pending++;
+            if (pending == BATCH)
+            {
+                flush(stream, batch, pending);
+                pending = 0;
+            }
+        }
+        flush(stream, batch, pending);
+    }
+
+    /**
+     * Adds one puzzle to a batch in the output format.
+     */
+    private void write(int[][] givens, int[][] solution, long id, ByteBuffer batch)
+    {
+        if (binary)
+        {
+            PuzzleCodec.writeRecord(givens, solution, batch);
+        }
+        else
+        {
+            PuzzleCodec.writeLine(givens, batch);
+            batch.put((byte)' ');
+            PuzzleCodec.writeLine(solution, batch);
+            batch.put((byte)' ');
+            putHex(id, batch);
+            batch.put((byte)'\n');
+        }
+    }
+
+    /**
+     * Makes the puzzle for an ID in the worker's generator.
+     */
+    private void create(SudokuGenerator sg, long id)
+    {
+        sg.setSeed(Puzzle.seedOf(id));
+        if (rated)
+        {
+            sg.createRatedBoard(diff);
+            tries.addAndGet(sg.getRatedTries());
+        }
+        else
+        {
+            sg.createBoard(diff);
+        }
+    }
+
+    /**
+     * Worker loop for boards other than 9x9, text format only, without IDs.
+     * @param stream shared output
+     */
+    private void generateSized(OutputStream stream)
+    {
+        GridGenerator gen = new GridGenerator(box);
+        GridSpec spec = gen.getSpec();
+        ByteBuffer batch = ByteBuffer.allocate(BATCH * (spec.cells * 2 + 2));
+        int pending = 0;
+        long index;
+        while ((index = claimed.getAndIncrement()) < count)
+        {
+            gen.setSeed(PuzzleGenerator.seedFor(seed, index));
+            gen.createBoard(diff);
+            spec.writeLine(gen.getBoard(), batch);
+            batch.put((byte)' ');
+            spec.writeLine(gen.getSolution(), batch);
+            batch.put((byte)'\n');
+            pending++;
+            if (pending == BATCH)
+            {
+                flush(stream, batch, pending);
+                pending = 0;
+            }
+        }
+        flush(stream, batch, pending);
+    }
+
+    private static void putHex(long value, ByteBuffer buf)
+    {
+        for (int shift = 60; shift >= 0; shift -= 4)
+        {
+            buf.put((byte)Character.toUpperCase(Character.forDigit((int)(value >>> shift) & 0xF, 16)));
+        }
+    }
+
+    private void flush(OutputStream stream, ByteBuffer batch, int pending)
+    {
+        if (pending == 0)
+        {
+            return;
+        }
+        try
+        {
+            synchronized (stream)
+            {
+                stream.write(batch.array(), 0, batch.position());
+                stream.flush();
+            }
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+        written.addAndGet(pending);
+        batch.clear();
+    }
+}
@@ -0,0 +1,152 @@
+package sudoku;
+
+/**
+ * Tracks which cells repeat a number in their row, column or 3x3 box.
+ * Keeps a count of every number in each of the 27 units, so changing one
+ * cell only touches that cell and its 20 peers. The cells whose conflict
+ * state flipped on the last change can be read back without allocating.
+ */
+public class ConflictTracker
+{
+    private int[] values = new int[81];
+    private int[] counts = new int[27 * 9];
+    private boolean[] conflict = new boolean[81];
+    private int conflicts = 0;
+    private int[] changed = new int[21];
+    private int changedCount = 0;
+
+    /**
+     * Rebuilds the counts and conflicts from a board.
+     * @param board board to read, 0 for empty cells
+     */
+    public void load(int[][] board)
+    {
+        for (int i = 0; i < counts.length; i++)
+        {
+            counts[i] = 0;
+        }
+        for (int cell = 0; cell < 81; cell++)
+        {
+            values[cell] = board[cell / 9][cell % 9];
+            if (values[cell] != 0)
+            {
+                count(cell, values[cell], 1);
+            }
+        }
+        conflicts = 0;
+        for (int cell = 0; cell < 81; cell++)
+        {
+            conflict[cell] = computeConflict(cell);
+            if (conflict[cell])
+            {
+                conflicts++;
+            }
+        }
+        changedCount = 0;
+    }
+
+    /**
+     * Changes one cell and records which cells changed conflict state.
+     * @param row row index
+     * @param col column index
+     * @param num new number, 0 to clear the cell
+     */
+    public void set(int row, int col, int num)
+    {
+        int cell = row * 9 + col;
+        int old = values[cell];
+        changedCount = 0;
+        if (old == num)
+        {
+            return;
+        }
+        if (old != 0)
+        {
+            count(cell, old, -1);
+        }
+        values[cell] = num;
+        if (num != 0)
+        {
+            count(cell, num, 1);
+        }
+
+        update(cell);
+        for (int i = 0; i < 20; i++)
+        {
+            int peer = ConstraintEngine.PEERS[cell][i];
+            int value = values[peer];
+            if (value != 0 && (value == old || value == num))
+            {
+                update(peer);
+            }
+        }
+    }
+
+    /**
+     * @param row row index
+     * @param col column index
+     * @return true if the cell repeats a number in its row, column or box
+     */
+    public boolean isConflict(int row, int col)
+    {
+        return conflict[row * 9 + col];
+    }
+
+    /**
+     * @return number of cells currently in conflict
+     */
+    public int conflictCount()
+    {
+        return conflicts;
+    }
+
+    /**
+     * @return number of cells whose conflict state flipped on the last set
+     */
+    public int changedCount()
+    {
+        return changedCount;
+    }
+
+    /**
+     * @param i index from 0 to changedCount() - 1
+     * @return cell index (row * 9 + col) of a cell that flipped on the last set
+     */
+    public int changedCell(int i)
+    {
+        return changed[i];
+    }
+
+    private void update(int cell)
+    {
+        boolean now = computeConflict(cell);
+        if (now != conflict[cell])
+        {
+            conflict[cell] = now;
+            conflicts += now ? 1 : -1;
+            changed[changedCount++] = cell;
+        }
+    }
+
+    private boolean computeConflict(int cell)
+    {
+        int num = values[cell];
+        if (num == 0)
+        {
+            return false;
+        }
+        int row = cell / 9;
+        int col = cell % 9;
+        return counts[row * 9 + num - 1] > 1 || counts[(9 + col) * 9 + num - 1] > 1
+            || counts[(18 + ConstraintEngine.box(row, col)) * 9 + num - 1] > 1;
+    }
+
+    private void count(int cell, int num, int delta)
+    {
+        int row = cell / 9;
+        int col = cell % 9;
+        counts[row * 9 + num - 1] += delta;
+        counts[(9 + col) * 9 + num - 1] += delta;
+        counts[(18 + ConstraintEngine.box(row, col)) * 9 + num - 1] += delta;
+    }
+}
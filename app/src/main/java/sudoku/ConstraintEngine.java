@@ -0,0 +1,143 @@
+package sudoku;
+
+/**
+ * Tracks which numbers are used in every row, column and 3x3 box
+ * using 9-bit occupancy masks, so a placement check is a single AND.
+ * Bit (num - 1) of a mask is set when num is present in that unit.
+ */
+public class ConstraintEngine
+{
+    public static final int ALL = 0x1FF;
+
+    /** Cells of each unit: rows 0–8, columns 9–17, boxes 18–26. */
+    public static final int[][] UNITS = new int[27][9];
+    /** The 20 cells sharing a row, column or box with each cell. */
+    public static final int[][] PEERS = new int[81][20];
+
+    private int[] rows = new int[9];
+    private int[] cols = new int[9];
+    private int[] boxes = new int[9];
+
+    static
+    {
+        for (int cell = 0; cell < 81; cell++)
+        {
+            int row = cell / 9;
+            int col = cell % 9;
+            UNITS[row][col] = cell;
+            UNITS[9 + col][row] = cell;
+            UNITS[18 + box(row, col)][(row % 3) * 3 + col % 3] = cell;
+            int n = 0;
+            for (int other = 0; other < 81; other++)
+            {
+                int r = other / 9;
+                int c = other % 9;
+                if (other != cell && (r == row || c == col || box(r, c) == box(row, col)))
+                {
+                    PEERS[cell][n++] = other;
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the box index for a cell.
+     * @param row row index
+     * @param col column index
+     * @return box index (0–8)
+     */
+    public static int box(int row, int col)
+    {
+        return (row / 3) * 3 + col / 3;
+    }
+
+    /**
+     * Rebuilds every mask from a board.
+     * @param board board to read, 0 for empty cells
+     * @return false if the board repeats a number in a row, column or box
+     */
+    public boolean load(int[][] board)
+    {
+        clear();
+        boolean valid = true;
+        for (int i = 0; i < 9; i++)
+        {
+            for (int j = 0; j < 9; j++)
+            {
+                if (board[i][j] != 0)
+                {
+                    if (!canPlace(i, j, board[i][j]))
+                    {
+                        valid = false;
+                    }
+                    place(i, j, board[i][j]);
+                }
+            }
+        }
+        return valid;
+    }
+
+    /**
+     * Empties every mask.
+     */
+    public void clear()
+    {
+        for (int i = 0; i < 9; i++)
+        {
+            rows[i] = 0;
+            cols[i] = 0;
+            boxes[i] = 0;
+        }
+    }
+
+    /**
+     * Checks if number can be placed.
+     * @param row row index
+     * @param col column index
+     * @param num number to place
+     * @return true if num is not used in the cell's row, column or box
+     */
+    public boolean canPlace(int row, int col, int num)
+    {
+        return ((rows[row] | cols[col] | boxes[box(row, col)]) & (1 << (num - 1))) == 0;
+    }
+
+    /**
+     * Returns the numbers still allowed in a cell.
+     * @param row row index
+     * @param col column index
+     * @return mask with bit (num - 1) set for every allowed num
+     */
+    public int candidates(int row, int col)
+    {
+        return ~(rows[row] | cols[col] | boxes[box(row, col)]) & ALL;
+    }
+
+    /**
+     * Marks a number as used in the cell's row, column and box.
+     * @param row row index
+     * @param col column index
+     * @param num number placed
+     */
+    public void place(int row, int col, int num)
+    {
+        int bit = 1 << (num - 1);
+        rows[row] |= bit;
+        cols[col] |= bit;
+        boxes[box(row, col)] |= bit;
+    }
+
+    /**
+     * Marks a number as free again in the cell's row, column and box.
+     * @param row row index
+     * @param col column index
+     * @param num number removed
+     */
+    public void unplace(int row, int col, int num)
+    {
+        int bit = ~(1 << (num - 1));
+        rows[row] &= bit;
+        cols[col] &= bit;
+        boxes[box(row, col)] &= bit;
+    }
+}
@@ -0,0 +1,260 @@
+package sudoku;
+
+/**
+ * Solves Sudoku as an exact-cover problem with Dancing Links (Algorithm X).
+ * The 324 columns are the cell, row-number, column-number and box-number
+ * constraints, and each of the 729 rows places one number in one cell.
+ * All nodes live in preallocated int arrays that are built once; givens
+ * are covered before a search and uncovered afterwards, so a solver can
+ * be reused for any number of grids without allocating.
+ */
+public class DancingLinksSolver implements SudokuSolver
+{
+    private static final int COLUMNS = 324;
+    private static final int ROWS = 729;
+    private static final int HEAD = 0;
+    private static final int NODES = COLUMNS + 1 + ROWS * 4;
+
+    private int[] left = new int[NODES];
+    private int[] right = new int[NODES];
+    private int[] up = new int[NODES];
+    private int[] down = new int[NODES];
+    private int[] column = new int[NODES];
+    private int[] size = new int[COLUMNS + 1];
+
+    private int[] chosenCols = new int[81];
+    private int[] chosenRows = new int[81];
+    private int[] givenRows = new int[81];
+    private int[] solutionRows = new int[81];
+    private ConstraintEngine engine = new ConstraintEngine();
+
+    public DancingLinksSolver()
+    {
+        for (int c = 0; c <= COLUMNS; c++)
+        {
+            left[c] = c == 0 ? COLUMNS : c - 1;
+            right[c] = c == COLUMNS ? 0 : c + 1;
+            up[c] = c;
+            down[c] = c;
+            column[c] = c;
+        }
+        for (int row = 0; row < ROWS; row++)
+        {
+            int cell = row / 9;
+            int d = row % 9;
+            int r = cell / 9;
+            int c = cell % 9;
+            int first = firstNode(row);
+            addNode(first, 1 + cell);
+            addNode(first + 1, 1 + 81 + r * 9 + d);
+            addNode(first + 2, 1 + 162 + c * 9 + d);
+            addNode(first + 3, 1 + 243 + ConstraintEngine.box(r, c) * 9 + d);
+            for (int k = 0; k < 4; k++)
+            {
+                left[first + k] = first + (k + 3) % 4;
+                right[first + k] = first + (k + 1) % 4;
+            }
+        }
+    }
+
+    public boolean solve(int[][] grid)
+    {
+        if (run(grid, 1) == 0)
+        {
+            return false;
+        }
+        for (int i = 0; i < 81; i++)
+        {
+            int row = solutionRows[i];
+            grid[row / 81][(row / 9) % 9] = row % 9 + 1;
+        }
+        return true;
+    }
+
+    public int countSolutions(int[][] grid, int limit)
+    {
+        return run(grid, limit);
+    }
+
+    /**
+     * Covers the givens, searches, and restores the matrix.
+     * The rows of the last solution found are left in solutionRows.
+     * @param grid grid to search
+     * @param limit stop after this many solutions
+     * @return number of solutions found, at most limit
+     */
+    private int run(int[][] grid, int limit)
+    {
+        if (!engine.load(grid))
+        {
+            return 0;
+        }
+        int givens = 0;
+        for (int i = 0; i < 9; i++)
+        {
+            for (int j = 0; j < 9; j++)
+            {
+                if (grid[i][j] != 0)
+                {
+                    int row = (i * 9 + j) * 9 + grid[i][j] - 1;
+                    selectRow(firstNode(row));
+                    givenRows[givens] = row;
+                    solutionRows[givens] = row;
+                    givens++;
+                }
+            }
+        }
+
+        int found = search(limit, givens);
+
+        for (int i = givens - 1; i >= 0; i--)
+        {
+            unselectRow(firstNode(givenRows[i]));
+        }
+        return found;
+    }
+
+    /**
+     * Algorithm X with an explicit stack of chosen columns and rows.
+     * @param limit stop after this many solutions
+     * @param givens number of rows already fixed by the givens
+     * @return number of solutions found, at most limit
+     */
+    private int search(int limit, int givens)
+    {
+        int found = 0;
+        int depth = 0;
+        boolean forward = true;
+        while (depth >= 0)
+        {
+            int node;
+            if (forward)
+            {
+                if (right[HEAD] == HEAD)
+                {
+                    found++;
+                    for (int i = 0; i < depth; i++)
+                    {
+                        solutionRows[givens + i] = (chosenRows[i] - COLUMNS - 1) / 4;
+                    }
+                    if (found >= limit)
+                    {
+                        break;
+                    }
+                    forward = false;
+                    depth--;
+                    continue;
+                }
+                int best = right[HEAD];
+                for (int c = right[best]; c != HEAD && size[best] > 1; c = right[c])
+                {
+                    if (size[c] < size[best])
+                    {
+                        best = c;
+                    }
+                }
+                cover(best);
+                chosenCols[depth] = best;
+                node = down[best];
+            }
+            else
+            {
+                for (int j = left[chosenRows[depth]]; j != chosenRows[depth]; j = left[j])
+                {
+                    uncover(column[j]);
+                }
+                node = down[chosenRows[depth]];
+            }
+
+            if (node == chosenCols[depth])
+            {
+                uncover(chosenCols[depth]);
+                forward = false;
+                depth--;
+            }
+            else
+            {
+                chosenRows[depth] = node;
+                for (int j = right[node]; j != node; j = right[j])
+                {
+                    cover(column[j]);
+                }
+                forward = true;
+                depth++;
+            }
+        }
+
+        for (int i = depth - 1; i >= 0; i--)
+        {
+            for (int j = left[chosenRows[i]]; j != chosenRows[i]; j = left[j])
+            {
+                uncover(column[j]);
+            }
+            uncover(chosenCols[i]);
+        }
+        return found;
+    }
+
+    private int firstNode(int row)
+    {
+        return COLUMNS + 1 + row * 4;
+    }
+
+    private void addNode(int node, int col)
+    {
+        column[node] = col;
+        up[node] = up[col];
+        down[node] = col;
+        down[up[col]] = node;
+        up[col] = node;
+        size[col]++;
+    }
+
+    private void selectRow(int node)
+    {
+        cover(column[node]);
+        for (int j = right[node]; j != node; j = right[j])
+        {
+            cover(column[j]);
+        }
+    }
+
+    private void unselectRow(int node)
+    {
+        for (int j = left[node]; j != node; j = left[j])
+        {
+            uncover(column[j]);
+        }
+        uncover(column[node]);
+    }
+
+    private void cover(int c)
+    {
+        right[left[c]] = right[c];
+        left[right[c]] = left[c];
+        for (int i = down[c]; i != c; i = down[i])
+        {
+            for (int j = right[i]; j != i; j = right[j])
+            {
+                up[down[j]] = up[j];
+                down[up[j]] = down[j];
+                size[column[j]]--;
+            }
+        }
+    }
+
+    private void uncover(int c)
+    {
+        for (int i = up[c]; i != c; i = up[i])
+        {
+            for (int j = left[i]; j != i; j = left[j])
+            {
+                size[column[j]]++;
+                up[down[j]] = j;
+                down[up[j]] = j;
+            }
+        }
+        right[left[c]] = c;
+        left[right[c]] = c;
+    }
+}
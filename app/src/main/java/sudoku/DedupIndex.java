@@ -0,0 +1,110 @@
+package sudoku;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Set of canonical-form fingerprints for rejecting repeated puzzles while
+ * generating in bulk. Fingerprints are kept in one open-addressed table of
+ * longs, 8 bytes a slot and no object per entry, and threads add to it
+ * with compare-and-set, without locking. The table is sized up front for
+ * the number of puzzles expected and does not grow.
+ *
+ * Two different puzzles share a 64-bit fingerprint with odds of about
+ * n^2 / 2^65 over n puzzles, so a run of ten million may wrongly reject
+ * one puzzle with a chance of less than one in 300,000.
+ */
+public class DedupIndex
+{
+    private final AtomicLongArray slots;
+    private final int mask;
+    private final long limit;
+    private final AtomicLong size = new AtomicLong();
+
+    /**
+     * @param expected most fingerprints that will be added; the table gets
+     *        at least twice as many slots
+     */
+    public DedupIndex(long expected)
+    {
+        long capacity = Long.highestOneBit(Math.max(8, expected * 2 - 1)) << 1;
+        if (capacity > 1 << 30)
+        {
+            throw new IllegalArgumentException("Too many puzzles for one index: " + expected);
+        }
+        slots = new AtomicLongArray((int)capacity);
+        mask = (int)capacity - 1;
+        limit = capacity * 3 / 4;
+    }
+
+    /**
+     * Adds a fingerprint.
+     * @param fingerprint from CanonicalForm.canonicalize
+     * @return true if it was new, false if an equivalent puzzle was added before
+     */
+    public boolean add(long fingerprint)
+    {
+        long key = fingerprint == 0 ? 1 : fingerprint;
+        int i = (int)(key ^ (key >>> 32)) & mask;
+        while (true)
+        {
+            long slot = slots.get(i);
+            if (slot == key)
+            {
+                return false;
+            }
+            if (slot == 0)
+            {
+                if (slots.compareAndSet(i, 0, key))
+                {
+                    if (size.incrementAndGet() > limit)
+                    {
+                        throw new IllegalStateException("Dedup index is full at " + size.get() + " puzzles");
+                    }
+                    return true;
+                }
+                continue;
+            }
+            i = (i + 1) & mask;
+        }
+    }
+
+    /**
+     * @param fingerprint from CanonicalForm.canonicalize
+     * @return true if the fingerprint has been added
+     */
+    public boolean contains(long fingerprint)
+    {
+        long key = fingerprint == 0 ? 1 : fingerprint;
+        int i = (int)(key ^ (key >>> 32)) & mask;
+        while (true)
+        {
+            long slot = slots.get(i);
+            if (slot == key)
+            {
+                return true;
+            }
+            if (slot == 0)
+            {
+                return false;
+            }
+            i = (i + 1) & mask;
+        }
+    }
+
+    /**
+     * @return number of fingerprints added
+     */
+    public long size()
+    {
+        return size.get();
+    }
+
+    /**
+     * @return number of slots in the table
+     */
+    public int capacity()
+    {
+        return mask + 1;
+    }
+}
@@ -0,0 +1,847 @@
+package sudoku;
+
+/**
+ * Grades a puzzle by solving it the way a person would, with a ladder of
+ * logical techniques from hidden singles up to single-number chains.
+ * After every step it goes back to the easiest technique, so the hardest
+ * technique used is the one the puzzle really needs. The score adds the
+ * cost of every step taken. A puzzle that logic alone cannot finish is
+ * rated GUESS.
+ *
+ * Candidates are kept as 9-bit masks per cell (bit num - 1), so a rater
+ * can be reused for many puzzles without allocating.
+ */
+public class DifficultyRater
+{
+    public static final int NONE = 0;
+    public static final int HIDDEN_SINGLE = 1;
+    public static final int NAKED_SINGLE = 2;
+    public static final int LOCKED_CANDIDATES = 3;
+    public static final int NAKED_PAIR = 4;
+    public static final int HIDDEN_PAIR = 5;
+    public static final int NAKED_TRIPLE = 6;
+    public static final int HIDDEN_TRIPLE = 7;
+    public static final int X_WING = 8;
+    public static final int SWORDFISH = 9;
+    public static final int CHAIN = 10;
+    public static final int GUESS = 11;
+
+    private static final String[] NAMES = {"None", "Hidden single", "Naked single", "Locked candidates",
+        "Naked pair", "Hidden pair", "Naked triple", "Hidden triple", "X-Wing", "Swordfish", "Chain", "Guess"};
+    private static final int[] COSTS = {0, 1, 2, 10, 20, 25, 30, 35, 50, 80, 100, 500};
+
+    private ConstraintEngine engine = new ConstraintEngine();
+    private int[] values = new int[81];
+    private int[] cands = new int[81];
+    private int[] used = new int[27];
+    private int[] lineMasks = new int[9];
+    private int[] color = new int[81];
+    private int[] queue = new int[81];
+    private int empty = 0;
+    private int hardest = NONE;
+    private int score = 0;
+    private int steps = 0;
+    private boolean broken = false;
+    private int placed = -1;
+
+    /**
+     * Rates a puzzle.
+     * @param grid puzzle to rate, 0 for empty cells; not modified
+     * @return the score, also available from getScore()
+     */
+    public int rate(int[][] grid)
+    {
+        hardest = NONE;
+        score = 0;
+        steps = 0;
+        empty = 0;
+        broken = !engine.load(grid);
+        for (int u = 0; u < 27; u++)
+        {
+            used[u] = 0;
+        }
+        for (int cell = 0; cell < 81; cell++)
+        {
+            int row = cell / 9;
+            int col = cell % 9;
+            values[cell] = grid[row][col];
+            if (values[cell] == 0)
+            {
+                cands[cell] = engine.candidates(row, col);
+                empty++;
+            }
+            else
+            {
+                cands[cell] = 0;
+                int bit = 1 << (values[cell] - 1);
+                used[row] |= bit;
+                used[9 + col] |= bit;
+                used[18 + ConstraintEngine.box(row, col)] |= bit;
+            }
+        }
+        run(false);
+        return score;
+    }
+
+    /**
+     * Finds the first cell that logic can fill from a position that is
+     * already part solved, starting from candidates the caller keeps up to
+     * date. getHardest() then tells which technique was needed to reach it.
+     * @param cellValues 81 cell values in row-major order, 0 for empty
+     * @param cellCands 81 candidate masks, bit (num - 1) per number
+     * @return index (row * 9 + col) of the cell filled, or -1 if logic gets stuck;
+     *         value() gives the number
+     */
+    public int nextPlacement(int[] cellValues, int[] cellCands)
+    {
+        hardest = NONE;
+        score = 0;
+        steps = 0;
+        empty = 0;
+        broken = false;
+        for (int u = 0; u < 27; u++)
+        {
+            used[u] = 0;
+        }
+        for (int cell = 0; cell < 81; cell++)
+        {
+            values[cell] = cellValues[cell];
+            cands[cell] = values[cell] == 0 ? cellCands[cell] : 0;
+            if (values[cell] == 0)
+            {
+                empty++;
+            }
+            else
+            {
+                int bit = 1 << (values[cell] - 1);
+                int row = cell / 9;
+                int col = cell % 9;
+                used[row] |= bit;
+                used[9 + col] |= bit;
+                used[18 + ConstraintEngine.box(row, col)] |= bit;
+            }
+        }
+        run(true);
+        return broken ? -1 : placed;
+    }
+
+    /**
+     * Applies techniques until the puzzle is solved or stuck.
+     * @param stopAtPlacement true to stop after the first step that fills a cell
+     */
+    private void run(boolean stopAtPlacement)
+    {
+        placed = -1;
+        while (empty > 0 && !broken)
+        {
+            int technique = step();
+            if (technique == NONE)
+            {
+                break;
+            }
+            steps++;
+            score += COSTS[technique];
+            if (technique > hardest)
+            {
+                hardest = technique;
+            }
+            if (stopAtPlacement && placed >= 0)
+            {
+                return;
+            }
+        }
+        if (empty > 0)
+        {
+            hardest = GUESS;
+            score += COSTS[GUESS];
+        }
+    }
+
+    /**
+     * @return hardest technique the last rated puzzle needed, GUESS if logic was not enough
+     */
+    public int getHardest()
+    {
+        return hardest;
+    }
+
+    /**
+     * @return score of the last rated puzzle
+     */
+    public int getScore()
+    {
+        return score;
+    }
+
+    /**
+     * @return number of technique steps taken on the last rated puzzle
+     */
+    public int getSteps()
+    {
+        return steps;
+    }
+
+    /**
+     * @return true if the last rated puzzle was finished without guessing
+     */
+    public boolean isSolved()
+    {
+        return empty == 0 && !broken;
+    }
+
+    /**
+     * @param row row index
+     * @param col column index
+     * @return number in the cell after the last rating, 0 if logic could not fill it
+     */
+    public int value(int row, int col)
+    {
+        return values[row * 9 + col];
+    }
+
+    /**
+     * @param row row index
+     * @param col column index
+     * @return candidates left in the cell after the last rating, bit (num - 1) per number
+     */
+    public int candidates(int row, int col)
+    {
+        return cands[row * 9 + col];
+    }
+
+    /**
+     * @param technique one of the technique constants
+     * @return its display name
+     */
+    public static String name(int technique)
+    {
+        return NAMES[technique];
+    }
+
+    /**
+     * Bins a technique into one of the game's difficulties.
+     * @param technique hardest technique a puzzle needs
+     * @return "Easy" for singles only, "Medium" up to triples, "Hard" beyond
+     */
+    public static String tier(int technique)
+    {
+        if (technique <= NAKED_SINGLE)
+        {
+            return "Easy";
+        }
+        if (technique <= HIDDEN_TRIPLE)
+        {
+            return "Medium";
+        }
+        return "Hard";
+    }
+
+    /**
+     * @return tier of the last rated puzzle
+     */
+    public String getTier()
+    {
+        return tier(hardest);
+    }
+
+    /**
+     * Applies the easiest technique that makes progress.
+     * @return the technique applied, or NONE if none did
+     */
+    private int step()
+    {
+        if (hiddenSingles())
+        {
+            return HIDDEN_SINGLE;
+        }
+        if (nakedSingles())
+        {
+            return NAKED_SINGLE;
+        }
+        if (lockedCandidates())
+        {
+            return LOCKED_CANDIDATES;
+        }
+        if (nakedSubsets(2))
+        {
+            return NAKED_PAIR;
+        }
+        if (hiddenSubsets(2))
+        {
+            return HIDDEN_PAIR;
+        }
+        if (nakedSubsets(3))
+        {
+            return NAKED_TRIPLE;
+        }
+        if (hiddenSubsets(3))
+        {
+            return HIDDEN_TRIPLE;
+        }
+        if (fish(2))
+        {
+            return X_WING;
+        }
+        if (fish(3))
+        {
+            return SWORDFISH;
+        }
+        if (coloring())
+        {
+            return CHAIN;
+        }
+        return NONE;
+    }
+
+    private void place(int cell, int num)
+    {
+        int bit = 1 << (num - 1);
+        int row = cell / 9;
+        int col = cell % 9;
+        values[cell] = num;
+        cands[cell] = 0;
+        empty--;
+        if (placed < 0)
+        {
+            placed = cell;
+        }
+        used[row] |= bit;
+        used[9 + col] |= bit;
+        used[18 + ConstraintEngine.box(row, col)] |= bit;
+        for (int i = 0; i < 20; i++)
+        {
+            int peer = ConstraintEngine.PEERS[cell][i];
+            if (values[peer] == 0 && (cands[peer] & bit) != 0)
+            {
+                cands[peer] &= ~bit;
+                if (cands[peer] == 0)
+                {
+                    broken = true;
+                }
+            }
+        }
+    }
+
+    private boolean eliminate(int cell, int mask)
+    {
+        if (values[cell] != 0 || (cands[cell] & mask) == 0)
+        {
+            return false;
+        }
+        cands[cell] &= ~mask;
+        if (cands[cell] == 0)
+        {
+            broken = true;
+        }
+        return true;
+    }
+
+    /**
+     * Places every number that has only one possible cell in some unit.
+     */
+    private boolean hiddenSingles()
+    {
+        boolean progress = false;
+        for (int u = 0; u < 27; u++)
+        {
+            int[] unit = ConstraintEngine.UNITS[u];
+            int once = 0;
+            int twice = 0;
+            for (int k = 0; k < 9; k++)
+            {
+                int c = cands[unit[k]];
+                twice |= once & c;
+                once |= c;
+            }
+            if ((once | used[u]) != ConstraintEngine.ALL)
+            {
+                broken = true;
+                return progress;
+            }
+            int singles = once & ~twice;
+            while (singles != 0)
+            {
+                int bit = singles & -singles;
+                singles &= singles - 1;
+                for (int k = 0; k < 9; k++)
+                {
+                    int cell = unit[k];
+                    if ((cands[cell] & bit) != 0)
+                    {
+                        place(cell, Integer.numberOfTrailingZeros(bit) + 1);
+                        progress = true;
+                        break;
+                    }
+                }
+            }
+        }
+        return progress;
+    }
+
+    /**
+     * Places every cell that has only one candidate left.
+     */
+    private boolean nakedSingles()
+    {
+        boolean progress = false;
+        for (int cell = 0; cell < 81; cell++)
+        {
+            int c = cands[cell];
+            if (values[cell] == 0 && c != 0 && (c & (c - 1)) == 0)
+            {
+                place(cell, Integer.numberOfTrailingZeros(c) + 1);
+                progress = true;
+            }
+        }
+        return progress;
+    }
+
+    /**
+     * Pointing: a number confined to one line within a box is removed from
+     * the rest of that line. Claiming: a number confined to one box within
+     * a line is removed from the rest of that box.
+     */
+    private boolean lockedCandidates()
+    {
+        boolean progress = false;
+        for (int b = 0; b < 9; b++)
+        {
+            int[] box = ConstraintEngine.UNITS[18 + b];
+            for (int num = 0; num < 9; num++)
+            {
+                int bit = 1 << num;
+                int rowsSeen = 0;
+                int colsSeen = 0;
+                for (int k = 0; k < 9; k++)
+                {
+                    if ((cands[box[k]] & bit) != 0)
+                    {
+                        rowsSeen |= 1 << (box[k] / 9);
+                        colsSeen |= 1 << (box[k] % 9);
+                    }
+                }
+                if (Integer.bitCount(rowsSeen) == 1)
+                {
+                    progress |= eliminateOutside(Integer.numberOfTrailingZeros(rowsSeen), 18 + b, bit);
+                }
+                if (Integer.bitCount(colsSeen) == 1)
+                {
+                    progress |= eliminateOutside(9 + Integer.numberOfTrailingZeros(colsSeen), 18 + b, bit);
+                }
+            }
+        }
+        for (int line = 0; line < 18; line++)
+        {
+            int[] unit = ConstraintEngine.UNITS[line];
+            for (int num = 0; num < 9; num++)
+            {
+                int bit = 1 << num;
+                int boxesSeen = 0;
+                for (int k = 0; k < 9; k++)
+                {
+                    if ((cands[unit[k]] & bit) != 0)
+                    {
+                        boxesSeen |= 1 << ConstraintEngine.box(unit[k] / 9, unit[k] % 9);
+                    }
+                }
+                if (Integer.bitCount(boxesSeen) == 1)
+                {
+                    progress |= eliminateOutside(18 + Integer.numberOfTrailingZeros(boxesSeen), line, bit);
+                }
+            }
+        }
+        return progress;
+    }
+
+    /**
+     * Removes a number from the cells of one unit that are not in another.
+     */
+    private boolean eliminateOutside(int target, int keep, int bit)
+    {
+        boolean progress = false;
+        int[] unit = ConstraintEngine.UNITS[target];
+        for (int k = 0; k < 9; k++)
+        {
+            int cell = unit[k];
+            if (!inUnit(cell, keep))
+            {
+                progress |= eliminate(cell, bit);
+            }
+        }
+        return progress;
+    }
+
+    private static boolean inUnit(int cell, int unit)
+    {
+        int row = cell / 9;
+        int col = cell % 9;
+        if (unit < 9)
+        {
+            return row == unit;
+        }
+        if (unit < 18)
+        {
+            return col == unit - 9;
+        }
+        return ConstraintEngine.box(row, col) == unit - 18;
+    }
+
+    /**
+     * Naked pairs and triples: n cells of a unit holding only n numbers
+     * between them remove those numbers from the rest of the unit.
+     * @param n subset size, 2 or 3
+     */
+    private boolean nakedSubsets(int n)
+    {
+        boolean progress = false;
+        for (int u = 0; u < 27; u++)
+        {
+            int[] unit = ConstraintEngine.UNITS[u];
+            for (int a = 0; a < 9; a++)
+            {
+                int ca = cands[unit[a]];
+                int sa = Integer.bitCount(ca);
+                if (sa < 2 || sa > n)
+                {
+                    continue;
+                }
+                for (int b = a + 1; b < 9; b++)
+                {
+                    int cb = cands[unit[b]];
+                    int sb = Integer.bitCount(cb);
+                    if (sb < 2 || Integer.bitCount(ca | cb) > n)
+                    {
+                        continue;
+                    }
+                    if (n == 2)
+                    {
+                        progress |= eliminateExcept(unit, ca | cb, (1 << a) | (1 << b));
+                        continue;
+                    }
+                    for (int c = b + 1; c < 9; c++)
+                    {
+                        int cc = cands[unit[c]];
+                        if (Integer.bitCount(cc) >= 2 && Integer.bitCount(ca | cb | cc) == 3)
+                        {
+                            progress |= eliminateExcept(unit, ca | cb | cc, (1 << a) | (1 << b) | (1 << c));
+                        }
+                    }
+                }
+            }
+        }
+        return progress;
+    }
+
+    private boolean eliminateExcept(int[] unit, int mask, int keep)
+    {
+        boolean progress = false;
+        for (int k = 0; k < 9; k++)
+        {
+            if ((keep & (1 << k)) == 0)
+            {
+                progress |= eliminate(unit[k], mask);
+            }
+        }
+        return progress;
+    }
+
+    /**
+     * Hidden pairs and triples: n numbers confined to the same n cells of a
+     * unit remove every other candidate from those cells.
+     * @param n subset size, 2 or 3
+     */
+    private boolean hiddenSubsets(int n)
+    {
+        boolean progress = false;
+        int[] where = lineMasks;
+        for (int u = 0; u < 27; u++)
+        {
+            int[] unit = ConstraintEngine.UNITS[u];
+            for (int num = 0; num < 9; num++)
+            {
+                where[num] = 0;
+                for (int k = 0; k < 9; k++)
+                {
+                    if ((cands[unit[k]] & (1 << num)) != 0)
+                    {
+                        where[num] |= 1 << k;
+                    }
+                }
+            }
+            for (int a = 0; a < 9; a++)
+            {
+                int sa = Integer.bitCount(where[a]);
+                if (sa < 2 || sa > n)
+                {
+                    continue;
+                }
+                for (int b = a + 1; b < 9; b++)
+                {
+                    int sb = Integer.bitCount(where[b]);
+                    if (sb < 2 || Integer.bitCount(where[a] | where[b]) > n)
+                    {
+                        continue;
+                    }
+                    if (n == 2)
+                    {
+                        progress |= keepOnly(unit, where[a] | where[b], (1 << a) | (1 << b));
+                        continue;
+                    }
+                    for (int c = b + 1; c < 9; c++)
+                    {
+                        int sc = Integer.bitCount(where[c]);
+                        if (sc >= 2 && Integer.bitCount(where[a] | where[b] | where[c]) == 3)
+                        {
+                            progress |= keepOnly(unit, where[a] | where[b] | where[c], (1 << a) | (1 << b) | (1 << c));
+                        }
+                    }
+                }
+            }
+        }
+        return progress;
+    }
+
+    private boolean keepOnly(int[] unit, int cells, int nums)
+    {
+        boolean progress = false;
+        for (int k = 0; k < 9; k++)
+        {
+            if ((cells & (1 << k)) != 0)
+            {
+                progress |= eliminate(unit[k], ~nums & ConstraintEngine.ALL);
+            }
+        }
+        return progress;
+    }
+
+    /**
+     * X-Wing (n = 2) and Swordfish (n = 3): if a number's candidates in n
+     * rows fall in only n columns, it is removed from those columns in every
+     * other row, and the same with rows and columns swapped.
+     * @param n number of lines, 2 or 3
+     */
+    private boolean fish(int n)
+    {
+        boolean progress = false;
+        for (int num = 0; num < 9; num++)
+        {
+            int bit = 1 << num;
+            for (int base = 0; base < 2; base++)
+            {
+                for (int line = 0; line < 9; line++)
+                {
+                    int[] unit = ConstraintEngine.UNITS[base * 9 + line];
+                    lineMasks[line] = 0;
+                    for (int k = 0; k < 9; k++)
+                    {
+                        if ((cands[unit[k]] & bit) != 0)
+                        {
+                            lineMasks[line] |= 1 << k;
+                        }
+                    }
+                }
+                for (int a = 0; a < 9; a++)
+                {
+                    int sa = Integer.bitCount(lineMasks[a]);
+                    if (sa < 2 || sa > n)
+                    {
+                        continue;
+                    }
+                    for (int b = a + 1; b < 9; b++)
+                    {
+                        int sb = Integer.bitCount(lineMasks[b]);
+                        if (sb < 2 || Integer.bitCount(lineMasks[a] | lineMasks[b]) > n)
+                        {
+                            continue;
+                        }
+                        if (n == 2)
+                        {
+                            progress |= eliminateCover(base, bit, lineMasks[a] | lineMasks[b], (1 << a) | (1 << b));
+                            continue;
+                        }
+                        for (int c = b + 1; c < 9; c++)
+                        {
+                            int sc = Integer.bitCount(lineMasks[c]);
+                            int cover = lineMasks[a] | lineMasks[b] | lineMasks[c];
+                            if (sc >= 2 && Integer.bitCount(cover) == 3)
+                            {
+                                progress |= eliminateCover(base, bit, cover, (1 << a) | (1 << b) | (1 << c));
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return progress;
+    }
+
+    /**
+     * Removes a number from the cover lines, except in the base lines.
+     * @param base 0 when the base lines are rows, 1 when they are columns
+     */
+    private boolean eliminateCover(int base, int bit, int cover, int baseLines)
+    {
+        boolean progress = false;
+        for (int line = 0; line < 9; line++)
+        {
+            if ((cover & (1 << line)) == 0)
+            {
+                continue;
+            }
+            int[] unit = ConstraintEngine.UNITS[(1 - base) * 9 + line];
+            for (int k = 0; k < 9; k++)
+            {
+                if ((baseLines & (1 << k)) == 0)
+                {
+                    progress |= eliminate(unit[k], bit);
+                }
+            }
+        }
+        return progress;
+    }
+
+    /**
+     * Single-number chains by simple coloring. Cells joined by conjugate
+     * pairs (the only two places for a number in a unit) alternate between
+     * two colors, one of which is true. If two cells of one color see each
+     * other, that color is false; a cell seeing both colors cannot hold
+     * the number.
+     */
+    private boolean coloring()
+    {
+        for (int num = 0; num < 9; num++)
+        {
+            int bit = 1 << num;
+            for (int cell = 0; cell < 81; cell++)
+            {
+                color[cell] = 0;
+            }
+            int nextColor = 1;
+            for (int start = 0; start < 81; start++)
+            {
+                if ((cands[start] & bit) == 0 || color[start] != 0)
+                {
+                    continue;
+                }
+                int size = colorChain(start, bit, nextColor);
+                int on = nextColor;
+                int off = nextColor + 1;
+                nextColor += 2;
+                if (size < 2)
+                {
+                    continue;
+                }
+                if (colorWrap(bit, on, size) || colorWrap(bit, off, size) || colorTrap(bit, on, off))
+                {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Colors the chain through start with the two colors on and on + 1.
+     * @return number of cells in the chain
+     */
+    private int colorChain(int start, int bit, int on)
+    {
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = start;
+        color[start] = on;
+        while (head < tail)
+        {
+            int cell = queue[head++];
+            int other = color[cell] == on ? on + 1 : on;
+            int row = cell / 9;
+            int col = cell % 9;
+            for (int i = 0; i < 3; i++)
+            {
+                int u = i == 0 ? row : i == 1 ? 9 + col : 18 + ConstraintEngine.box(row, col);
+                int partner = conjugate(u, cell, bit);
+                if (partner >= 0 && color[partner] == 0)
+                {
+                    color[partner] = other;
+                    queue[tail++] = partner;
+                }
+            }
+        }
+        return tail;
+    }
+
+    /**
+     * @return the other cell of a conjugate pair in a unit, or -1
+     */
+    private int conjugate(int u, int cell, int bit)
+    {
+        int[] unit = ConstraintEngine.UNITS[u];
+        int partner = -1;
+        int count = 0;
+        for (int k = 0; k < 9; k++)
+        {
+            if ((cands[unit[k]] & bit) != 0)
+            {
+                count++;
+                if (unit[k] != cell)
+                {
+                    partner = unit[k];
+                }
+            }
+        }
+        return count == 2 ? partner : -1;
+    }
+
+    private boolean colorWrap(int bit, int c, int size)
+    {
+        for (int i = 0; i < size; i++)
+        {
+            int cell = queue[i];
+            if (color[cell] != c)
+            {
+                continue;
+            }
+            for (int p = 0; p < 20; p++)
+            {
+                if (color[ConstraintEngine.PEERS[cell][p]] == c)
+                {
+                    boolean progress = false;
+                    for (int j = 0; j < size; j++)
+                    {
+                        if (color[queue[j]] == c)
+                        {
+                            progress |= eliminate(queue[j], bit);
+                        }
+                    }
+                    return progress;
+                }
+            }
+        }
+        return false;
+    }
+
+    private boolean colorTrap(int bit, int on, int off)
+    {
+        boolean progress = false;
+        for (int cell = 0; cell < 81; cell++)
+        {
+            if ((cands[cell] & bit) == 0 || color[cell] == on || color[cell] == off)
+            {
+                continue;
+            }
+            boolean seesOn = false;
+            boolean seesOff = false;
+            for (int p = 0; p < 20; p++)
+            {
+                int c = color[ConstraintEngine.PEERS[cell][p]];
+                seesOn |= c == on;
+                seesOff |= c == off;
+            }
+            if (seesOn && seesOff)
+            {
+                progress |= eliminate(cell, bit);
+            }
+        }
+        return progress;
+    }
+}
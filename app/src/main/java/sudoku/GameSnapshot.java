@@ -0,0 +1,270 @@
+package sudoku;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Saved state of a game in progress: the givens, the player's board, the
+ * solution, the time played, whether it was paused or solved, and the
+ * undo history.
+ *
+ * Layout (big-endian): the magic "SDKS", a version, the difficulty index,
+ * a flags byte (1 = paused, 2 = solved), the givens, board and solution as
+ * 41-byte PuzzleCodec grids, the milliseconds played, then the MoveJournal
+ * export. A game with no moves takes 165 bytes.
+ */
+public class GameSnapshot
+{
+    public static final int MAGIC = 0x53444B53;
+    public static final int VERSION = 1;
+    private static final int PAUSED = 1;
+    private static final int SOLVED = 2;
+    private static final int FIXED_BYTES = 4 + 4 + 1 + 1 + PuzzleCodec.PACKED_BYTES * 3 + 8;
+
+    private String difficulty;
+    private int[][] givens = new int[9][9];
+    private int[][] board = new int[9][9];
+    private int[][] solution = new int[9][9];
+    private long elapsedMillis;
+    private boolean paused;
+    private boolean solved;
+    private MoveJournal journal = new MoveJournal();
+
+    private GameSnapshot()
+    {
+    }
+
+    /**
+     * Encodes a game straight into bytes, so the caller's arrays can keep
+     * changing once this returns.
+     * @param difficulty difficulty of the puzzle
+     * @param givens the puzzle as dealt, 0 for empty cells
+     * @param board the board as the player left it
+     * @param solution the solution
+     * @param elapsedMillis time played, not counting pauses
+     * @param paused true if the game was paused
+     * @param solved true if the game was finished
+     * @param journal undo history
+     * @return the encoded snapshot
+     */
+    public static byte[] encode(String difficulty, int[][] givens, int[][] board, int[][] solution,
+        long elapsedMillis, boolean paused, boolean solved, MoveJournal journal)
+    {
+        ByteBuffer buf = ByteBuffer.allocate(FIXED_BYTES + journal.exportBytes());
+        buf.putInt(MAGIC);
+        buf.putInt(VERSION);
+        buf.put((byte)difficultyIndex(difficulty));
+        buf.put((byte)((paused ? PAUSED : 0) | (solved ? SOLVED : 0)));
+        PuzzleCodec.pack(givens, buf);
+        PuzzleCodec.pack(board, buf);
+        PuzzleCodec.pack(solution, buf);
+        buf.putLong(elapsedMillis);
+        journal.exportTo(buf);
+        return buf.array();
+    }
+
+    /**
+     * Decodes a snapshot written by encode.
+     * @param buf buffer positioned at the snapshot
+     * @return the snapshot
+     * @throws IOException if the data is not a snapshot of this version, or
+     *         its grids or moves could not come from a real game
+     */
+    public static GameSnapshot decode(ByteBuffer buf) throws IOException
+    {
+        try
+        {
+            if (buf.getInt() != MAGIC)
+            {
+                throw new IOException("Not a saved game");
+            }
+            int version = buf.getInt();
+            if (version != VERSION)
+            {
+                throw new IOException("Unsupported saved game version " + version);
+            }
+            GameSnapshot snapshot = new GameSnapshot();
+            int diff = buf.get();
+            if (diff < 0 || diff >= PuzzlePool.DIFFICULTIES.length)
+            {
+                throw new IOException("Unknown difficulty in saved game");
+            }
+            snapshot.difficulty = PuzzlePool.DIFFICULTIES[diff];
+            int flags = buf.get();
+            snapshot.paused = (flags & PAUSED) != 0;
+            snapshot.solved = (flags & SOLVED) != 0;
+            PuzzleCodec.unpack(buf, snapshot.givens);
+            PuzzleCodec.unpack(buf, snapshot.board);
+            PuzzleCodec.unpack(buf, snapshot.solution);
+            snapshot.elapsedMillis = buf.getLong();
+            snapshot.journal.importFrom(buf);
+            snapshot.check();
+            return snapshot;
+        }
+        catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e)
+        {
+            throw new IOException("Saved game is corrupt", e);
+        }
+    }
+
+    /**
+     * Checks that the solution is full, every given matches it, the board
+     * keeps the givens and holds only numbers 0 to 9, and no move in the
+     * journal touches a given, so undo and redo can never overwrite one.
+     */
+    private void check() throws IOException
+    {
+        for (int i = 0; i < 9; i++)
+        {
+            for (int j = 0; j < 9; j++)
+            {
+                int s = solution[i][j];
+                int g = givens[i][j];
+                int b = board[i][j];
+                if (s < 1 || s > 9 || (g != 0 && g != s) || b > 9 || (g != 0 && b != g))
+                {
+                    throw new IOException("Saved game is corrupt at row " + (i + 1) + ", column " + (j + 1));
+                }
+            }
+        }
+        for (int i = 0; i < journal.size(); i++)
+        {
+            int cell = MoveJournal.cell(journal.get(i));
+            if (givens[cell / 9][cell % 9] != 0)
+            {
+                throw new IOException("Saved game has move " + (i + 1) + " on a given cell");
+            }
+        }
+    }
+
+    /**
+     * Reads a saved game from a file.
+     * @param path file written by writeAtomically
+     * @return the snapshot
+     */
+    public static GameSnapshot read(Path path) throws IOException
+    {
+        return decode(ByteBuffer.wrap(Files.readAllBytes(path)));
+    }
+
+    /**
+     * Writes bytes to a temporary file next to the target, forces them to
+     * disk, then moves the file over the target, so a crash leaves either
+     * the old save or the new one and never half of each.
+     * @param path file to replace
+     * @param data bytes to write
+     */
+    public static void writeAtomically(Path path, byte[] data) throws IOException
+    {
+        Path dir = path.toAbsolutePath().getParent();
+        Files.createDirectories(dir);
+        Path temp = Files.createTempFile(dir, path.getFileName().toString(), ".tmp");
+        try
+        {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE))
+            {
+                ByteBuffer buf = ByteBuffer.wrap(data);
+                while (buf.hasRemaining())
+                {
+                    channel.write(buf);
+                }
+                channel.force(true);
+            }
+            try
+            {
+                Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            }
+            catch (AtomicMoveNotSupportedException e)
+            {
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        finally
+        {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static int difficultyIndex(String difficulty)
+    {
+        for (int d = 0; d < PuzzlePool.DIFFICULTIES.length; d++)
+        {
+            if (PuzzlePool.DIFFICULTIES[d].equals(difficulty))
+            {
+                return d;
+            }
+        }
+        throw new IllegalArgumentException("Unknown difficulty " + difficulty);
+    }
+
+    /**
+     * @return difficulty of the puzzle
+     */
+    public String getDifficulty()
+    {
+        return difficulty;
+    }
+
+    /**
+     * @return the puzzle as dealt
+     */
+    public int[][] getGivens()
+    {
+        return givens;
+    }
+
+    /**
+     * @return the board as the player left it
+     */
+    public int[][] getBoard()
+    {
+        return board;
+    }
+
+    /**
+     * @return the solution
+     */
+    public int[][] getSolution()
+    {
+        return solution;
+    }
+
+    /**
+     * @return time played in milliseconds, not counting pauses
+     */
+    public long getElapsedMillis()
+    {
+        return elapsedMillis;
+    }
+
+    /**
+     * @return true if the game was paused
+     */
+    public boolean isPaused()
+    {
+        return paused;
+    }
+
+    /**
+     * @return true if the game was finished
+     */
+    public boolean isSolved()
+    {
+        return solved;
+    }
+
+    /**
+     * @return undo history
+     */
+    public MoveJournal getJournal()
+    {
+        return journal;
+    }
+}
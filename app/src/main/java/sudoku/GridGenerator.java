@@ -0,0 +1,233 @@
+package sudoku;
+
+import java.util.SplittableRandom;
+
+/**
+ * Generates puzzles with a unique solution for any GridSpec size, from 4x4
+ * to 25x25. The full board is a random GridSolver fill. Cells are then
+ * emptied in random order, and each removal is kept only if no solution
+ * with a different number in that cell exists. The share of cells removed per difficulty
+ * matches the 9x9 game's 43, 50 and 58 of 81.
+ *
+ * On large boards a uniqueness check can run into a long search. Each
+ * check gets a node budget, and a removal whose check runs out is undone,
+ * so a puzzle may keep a few more numbers than asked for but is always
+ * unique.
+ */
+public class GridGenerator
+{
+    private static final long FILL_NODES = 20000;
+    private static final long CHECK_NODES = 200;
+
+    private final GridSpec spec;
+    private final GridSolver solver;
+    private final int[] board;
+    private final int[] solution;
+    private final int[] order;
+    private SplittableRandom random;
+    private int fillRestarts = 0;
+    private int removalsTried = 0;
+    private int removalsRejected = 0;
+    private int removalsGivenUp = 0;
+
+    /**
+     * @param box box size, 2 (4x4) to 5 (25x25)
+     */
+    public GridGenerator(int box)
+    {
+        this(box, new SplittableRandom());
+    }
+
+    /**
+     * @param box box size, 2 (4x4) to 5 (25x25)
+     * @param seed seed for the random numbers, so the same seed gives the same puzzles
+     */
+    public GridGenerator(int box, long seed)
+    {
+        this(box, new SplittableRandom(seed));
+    }
+
+    private GridGenerator(int box, SplittableRandom random)
+    {
+        spec = GridSpec.of(box);
+        solver = new GridSolver(spec);
+        board = new int[spec.cells];
+        solution = new int[spec.cells];
+        order = new int[spec.cells];
+        this.random = random;
+    }
+
+    /**
+     * Restarts the random numbers, so the next puzzle is the one this seed gives.
+     * @param seed seed for the random numbers
+     */
+    public void setSeed(long seed)
+    {
+        random = new SplittableRandom(seed);
+    }
+
+    /**
+     * @return board shape
+     */
+    public GridSpec getSpec()
+    {
+        return spec;
+    }
+
+    /**
+     * @return current puzzle, row-major, 0 for empty cells
+     */
+    public int[] getBoard()
+    {
+        return board;
+    }
+
+    /**
+     * @return solution of the current puzzle
+     */
+    public int[] getSolution()
+    {
+        return solution;
+    }
+
+    /**
+     * @return the solver used for filling and uniqueness checks
+     */
+    public GridSolver getSolver()
+    {
+        return solver;
+    }
+
+    /**
+     * Creates a puzzle with given difficulty.
+     * Can be called again on the same generator to make another puzzle.
+     * @param diff the difficulty level (Easy, Medium, Hard)
+     */
+    public void createBoard(String diff)
+    {
+        fillBoard();
+        carve(removalTarget(diff));
+    }
+
+    /**
+     * Fills the board with a random solution. A fill that runs past its node
+     * budget starts over, which is far faster on 25x25 than searching on.
+     */
+    public void fillBoard()
+    {
+        fillRestarts = 0;
+        while (true)
+        {
+            for (int cell = 0; cell < spec.cells; cell++)
+            {
+                board[cell] = 0;
+            }
+            if (solver.fillRandom(board, random, FILL_NODES))
+            {
+                break;
+            }
+            fillRestarts++;
+        }
+        System.arraycopy(board, 0, solution, 0, spec.cells);
+    }
+
+    /**
+     * Returns how many numbers a difficulty removes, scaled from the 9x9
+     * game's 43, 50 and 58 of 81.
+     * @param diff difficulty ("Easy", "Medium", "Hard")
+     * @return numbers to remove, or 0 for an unknown difficulty
+     */
+    public int removalTarget(String diff)
+    {
+        if (diff.equals("Hard"))
+        {
+            return spec.cells * 58 / 81;
+        }
+        if (diff.equals("Medium"))
+        {
+            return spec.cells * 50 / 81;
+        }
+        if (diff.equals("Easy"))
+        {
+            return spec.cells * 43 / 81;
+        }
+        return 0;
+    }
+
+    /**
+     * Removes numbers in random order, keeping a removal only if the puzzle
+     * is proven to still have exactly one solution.
+     * @param target how many numbers to remove
+     */
+    public void carve(int target)
+    {
+        removalsTried = 0;
+        removalsRejected = 0;
+        removalsGivenUp = 0;
+        for (int i = 0; i < spec.cells; i++)
+        {
+            order[i] = i;
+        }
+        int removed = 0;
+        for (int i = 0; i < spec.cells && removed < target; i++)
+        {
+            int rand = i + random.nextInt(spec.cells - i);
+            int cell = order[rand];
+            order[rand] = order[i];
+            order[i] = cell;
+
+            int num = board[cell];
+            board[cell] = 0;
+            removalsTried++;
+            int count = solver.countOthers(board, cell, num, CHECK_NODES);
+            if (count == 0)
+            {
+                removed++;
+            }
+            else
+            {
+                board[cell] = num;
+                if (count < 0)
+                {
+                    removalsGivenUp++;
+                }
+                else
+                {
+                    removalsRejected++;
+                }
+            }
+        }
+    }
+
+    /**
+     * @return fills restarted by the last fillBoard
+     */
+    public int getFillRestarts()
+    {
+        return fillRestarts;
+    }
+
+    /**
+     * @return removals attempted by the last carve
+     */
+    public int getRemovalsTried()
+    {
+        return removalsTried;
+    }
+
+    /**
+     * @return removals undone by the last carve because the puzzle lost its unique solution
+     */
+    public int getRemovalsRejected()
+    {
+        return removalsRejected;
+    }
+
+    /**
+     * @return removals undone by the last carve because the check ran out of nodes
+     */
+    public int getRemovalsGivenUp()
+    {
+        return removalsGivenUp;
+    }
+}
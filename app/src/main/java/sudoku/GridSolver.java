@@ -0,0 +1,458 @@
+package sudoku;
+
+import java.util.SplittableRandom;
+
+/**
+ * Solver for boards of any GridSpec size. Each cell has a long candidate
+ * mask. Placing a number removes it from the cell's peers, and every unit
+ * is scanned for numbers with only one place left. The search branches on
+ * the empty cell with the fewest candidates. Search levels are kept in
+ * arrays that are reused, so solving allocates nothing once the deepest
+ * level has been reached.
+ */
+public class GridSolver
+{
+    private final GridSpec spec;
+    private long[][] cands;
+    private int[][] values;
+    private int[] branchCell;
+    private long[] branchLeft;
+    private int[] queue;
+    private int[] solved;
+    private SplittableRandom random;
+    private long nodes = 0;
+    private long nodeLimit = Long.MAX_VALUE;
+    private Listener listener = null;
+
+    /**
+     * @param spec board shape
+     */
+    public GridSolver(GridSpec spec)
+    {
+        this.spec = spec;
+        cands = new long[1][];
+        values = new int[1][];
+        branchCell = new int[spec.cells + 1];
+        branchLeft = new long[spec.cells + 1];
+        queue = new int[spec.cells];
+        solved = new int[spec.cells];
+    }
+
+    /**
+     * @return board shape
+     */
+    public GridSpec getSpec()
+    {
+        return spec;
+    }
+
+    /**
+     * Solves a board in place.
+     * @param grid board to solve, filled with the first solution found
+     * @return true if a solution was found
+     */
+    public boolean solve(int[] grid)
+    {
+        random = null;
+        nodeLimit = Long.MAX_VALUE;
+        if (search(grid, 1, -1, 0) == 0)
+        {
+            return false;
+        }
+        System.arraycopy(solved, 0, grid, 0, spec.cells);
+        return true;
+    }
+
+    /**
+     * Counts the solutions of a board, stopping early at a limit.
+     * The board is left unchanged.
+     * @param grid board to check
+     * @param limit stop counting once this many solutions are found
+     * @return number of solutions found, at most limit
+     */
+    public int countSolutions(int[] grid, int limit)
+    {
+        return countSolutions(grid, limit, Long.MAX_VALUE);
+    }
+
+    /**
+     * Counts solutions like countSolutions(grid, limit), but gives up after
+     * a number of search nodes.
+     * @param grid board to check
+     * @param limit stop counting once this many solutions are found
+     * @param maxNodes most branches to try
+     * @return number of solutions found, or -1 if the search gave up
+     */
+    public int countSolutions(int[] grid, int limit, long maxNodes)
+    {
+        random = null;
+        nodeLimit = maxNodes;
+        return search(grid, limit, -1, 0);
+    }
+
+    /**
+     * Checks whether emptying a cell of a puzzle with one solution keeps it
+     * unique, by looking for a solution with the cell's number ruled out.
+     * That search usually ends in a contradiction within a few branches,
+     * where counting to two would have to find the known solution first.
+     * @param grid puzzle, with the cell filled or emptied
+     * @param cell cell to empty
+     * @param num the cell's number in the known solution
+     * @param maxNodes most branches to try
+     * @return 0 if the puzzle stays unique, 1 if another solution exists, or -1 if the search gave up
+     */
+    public int countOthers(int[] grid, int cell, int num, long maxNodes)
+    {
+        random = null;
+        nodeLimit = maxNodes;
+        return search(grid, 1, cell, num);
+    }
+
+    /**
+     * Fills a board with a random solution, trying numbers in random order.
+     * @param grid board to fill, usually empty
+     * @param rand source of the order
+     * @param maxNodes most branches to try before giving up
+     * @return true if the board was filled, false if the search gave up or there is no solution
+     */
+    public boolean fillRandom(int[] grid, SplittableRandom rand, long maxNodes)
+    {
+        random = rand;
+        nodeLimit = maxNodes;
+        int found = search(grid, 1, -1, 0);
+        random = null;
+        if (found != 1)
+        {
+            return false;
+        }
+        System.arraycopy(solved, 0, grid, 0, spec.cells);
+        return true;
+    }
+
+    /**
+     * @return branches tried by the last search
+     */
+    public long getNodes()
+    {
+        return nodes;
+    }
+
+    /**
+     * Lets a search share its work. Every solution is reported to the
+     * listener as it is found. Every 256 branches the listener is asked
+     * whether it wants work; if so, each untried number at the shallowest
+     * open branch is handed over as a board with that number placed, and
+     * the search no longer covers those subtrees. Every 1024 branches the
+     * listener can stop the search, which then returns -1.
+     * @param listener listener for the next searches, or null to search alone
+     */
+    public void setListener(Listener listener)
+    {
+        this.listener = listener;
+    }
+
+    /** Receives solutions and branches from a search. */
+    public interface Listener
+    {
+        /**
+         * @param solution a solution just found; only valid during the call
+         * @return true to stop the search
+         */
+        boolean solved(int[] solution);
+
+        /**
+         * @return true to stop the search
+         */
+        boolean stopped();
+
+        /**
+         * @return true if there are threads free to take branches now
+         */
+        boolean wantsWork();
+
+        /**
+         * Takes a branch to search elsewhere.
+         * @param grid board with one more number placed; owned by the listener
+         */
+        void split(int[] grid);
+    }
+
+    private int search(int[] grid, int limit, int excludeCell, int excludeNum)
+    {
+        nodes = 0;
+        level(0);
+        long[] c = cands[0];
+        int[] v = values[0];
+        for (int cell = 0; cell < spec.cells; cell++)
+        {
+            c[cell] = spec.all;
+            v[cell] = 0;
+        }
+        for (int cell = 0; cell < spec.cells; cell++)
+        {
+            int num = grid[cell];
+            if (cell != excludeCell && num != 0 && (num > spec.n || !assign(0, cell, num)))
+            {
+                return 0;
+            }
+        }
+        if (excludeCell >= 0)
+        {
+            c[excludeCell] &= ~(1L << (excludeNum - 1));
+            if (c[excludeCell] == 0)
+            {
+                return 0;
+            }
+        }
+        if (!propagate(0))
+        {
+            return 0;
+        }
+
+        int found = 0;
+        int depth = 0;
+        boolean descend = true;
+        while (depth >= 0)
+        {
+            if (descend)
+            {
+                int cell = pickCell(depth);
+                if (cell < 0)
+                {
+                    System.arraycopy(values[depth], 0, solved, 0, spec.cells);
+                    boolean stop = listener != null && listener.solved(solved);
+                    if (++found >= limit || stop)
+                    {
+                        return found;
+                    }
+                    depth--;
+                    descend = false;
+                    continue;
+                }
+                branchCell[depth] = cell;
+                branchLeft[depth] = cands[depth][cell];
+            }
+            if (branchLeft[depth] == 0)
+            {
+                depth--;
+                descend = false;
+                continue;
+            }
+            if (++nodes > nodeLimit || ((nodes & 1023) == 0 && listener != null && listener.stopped()))
+            {
+                return -1;
+            }
+            if ((nodes & 255) == 0 && listener != null && listener.wantsWork())
+            {
+                giveAway(depth);
+                descend = false;
+                continue;
+            }
+            long bit = pickBit(branchLeft[depth]);
+            branchLeft[depth] &= ~bit;
+            level(depth + 1);
+            System.arraycopy(cands[depth], 0, cands[depth + 1], 0, spec.cells);
+            System.arraycopy(values[depth], 0, values[depth + 1], 0, spec.cells);
+            if (assign(depth + 1, branchCell[depth], Long.numberOfTrailingZeros(bit) + 1) && propagate(depth + 1))
+            {
+                depth++;
+                descend = true;
+            }
+            else
+            {
+                descend = false;
+            }
+        }
+        return found;
+    }
+
+    private void giveAway(int depth)
+    {
+        for (int d = 0; d <= depth; d++)
+        {
+            long left = branchLeft[d];
+            if (left != 0)
+            {
+                branchLeft[d] = 0;
+                while (left != 0)
+                {
+                    long bit = left & -left;
+                    left &= left - 1;
+                    int[] grid = values[d].clone();
+                    grid[branchCell[d]] = Long.numberOfTrailingZeros(bit) + 1;
+                    listener.split(grid);
+                }
+                return;
+            }
+        }
+    }
+
+    private void level(int depth)
+    {
+        if (depth >= cands.length)
+        {
+            long[][] moreCands = new long[Math.min(spec.cells + 1, cands.length * 2)][];
+            int[][] moreValues = new int[moreCands.length][];
+            System.arraycopy(cands, 0, moreCands, 0, cands.length);
+            System.arraycopy(values, 0, moreValues, 0, values.length);
+            cands = moreCands;
+            values = moreValues;
+        }
+        if (cands[depth] == null)
+        {
+            cands[depth] = new long[spec.cells];
+            values[depth] = new int[spec.cells];
+        }
+    }
+
+    private long pickBit(long left)
+    {
+        if (random == null)
+        {
+            return left & -left;
+        }
+        int skip = random.nextInt(Long.bitCount(left));
+        for (int i = 0; i < skip; i++)
+        {
+            left &= left - 1;
+        }
+        return left & -left;
+    }
+
+    private int pickCell(int depth)
+    {
+        long[] c = cands[depth];
+        int[] v = values[depth];
+        int best = -1;
+        int bestCount = Integer.MAX_VALUE;
+        for (int cell = 0; cell < spec.cells; cell++)
+        {
+            if (v[cell] == 0)
+            {
+                int count = Long.bitCount(c[cell]);
+                if (count < bestCount)
+                {
+                    best = cell;
+                    bestCount = count;
+                    if (count == 2)
+                    {
+                        break;
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Places a number and removes it from the peers, queueing peers left
+     * with one candidate. Returns false if a peer runs out of candidates.
+     */
+    private boolean assign(int depth, int cell, int num)
+    {
+        long[] c = cands[depth];
+        int[] v = values[depth];
+        long bit = 1L << (num - 1);
+        if ((c[cell] & bit) == 0)
+        {
+            return false;
+        }
+        c[cell] = bit;
+        v[cell] = num;
+        int[] peers = spec.peers[cell];
+        for (int i = 0; i < peers.length; i++)
+        {
+            int p = peers[i];
+            if ((c[p] & bit) != 0)
+            {
+                c[p] &= ~bit;
+                if (c[p] == 0)
+                {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Places naked and hidden singles until none are left.
+     * Returns false on a contradiction.
+     */
+    private boolean propagate(int depth)
+    {
+        long[] c = cands[depth];
+        int[] v = values[depth];
+        boolean changed = true;
+        while (changed)
+        {
+            changed = false;
+            int tail = 0;
+            for (int cell = 0; cell < spec.cells; cell++)
+            {
+                if (v[cell] == 0 && (c[cell] & (c[cell] - 1)) == 0)
+                {
+                    queue[tail++] = cell;
+                }
+            }
+            for (int head = 0; head < tail; head++)
+            {
+                int cell = queue[head];
+                if (v[cell] != 0)
+                {
+                    continue;
+                }
+                if (!assign(depth, cell, Long.numberOfTrailingZeros(c[cell]) + 1))
+                {
+                    return false;
+                }
+                changed = true;
+            }
+
+            for (int u = 0; u < spec.units.length; u++)
+            {
+                int[] unit = spec.units[u];
+                long once = 0;
+                long twice = 0;
+                long placed = 0;
+                for (int k = 0; k < unit.length; k++)
+                {
+                    long m = c[unit[k]];
+                    if (v[unit[k]] != 0)
+                    {
+                        placed |= m;
+                    }
+                    else
+                    {
+                        twice |= once & m;
+                        once |= m;
+                    }
+                }
+                if ((once | placed) != spec.all)
+                {
+                    return false;
+                }
+                long singles = once & ~twice & ~placed;
+                while (singles != 0)
+                {
+                    long bit = singles & -singles;
+                    singles &= singles - 1;
+                    for (int k = 0; k < unit.length; k++)
+                    {
+                        int cell = unit[k];
+                        if (v[cell] == 0 && (c[cell] & bit) != 0)
+                        {
+                            if (!assign(depth, cell, Long.numberOfTrailingZeros(bit) + 1))
+                            {
+                                return false;
+                            }
+                            changed = true;
+                            break;
+                        }
+                    }
+                }
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,146 @@
+package sudoku;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Shape of a board with boxes of box x box cells: n = box * box numbers,
+ * n x n cells, and 3n units (rows, then columns, then boxes). Boards of
+ * any size are flat int arrays in row-major order, 0 for empty cells.
+ * Candidate masks are longs with bit (num - 1) per number, so sizes up to
+ * 49 x 49 fit.
+ */
+public class GridSpec
+{
+    public static final int MIN_BOX = 2;
+    public static final int MAX_BOX = 7;
+
+    private static final GridSpec[] SPECS = new GridSpec[MAX_BOX + 1];
+
+    public final int box;
+    public final int n;
+    public final int cells;
+    public final long all;
+    /** Cells of each unit: rows 0 to n-1, columns n to 2n-1, boxes 2n to 3n-1. */
+    public final int[][] units;
+    /** The cells sharing a row, column or box with each cell. */
+    public final int[][] peers;
+
+    private GridSpec(int box)
+    {
+        this.box = box;
+        n = box * box;
+        cells = n * n;
+        all = n == 64 ? -1L : (1L << n) - 1;
+        units = new int[3 * n][n];
+        int peerCount = 3 * n - 2 * box - 1;
+        peers = new int[cells][peerCount];
+        for (int cell = 0; cell < cells; cell++)
+        {
+            int row = cell / n;
+            int col = cell % n;
+            units[row][col] = cell;
+            units[n + col][row] = cell;
+            units[2 * n + box(row, col)][(row % box) * box + col % box] = cell;
+            int k = 0;
+            for (int other = 0; other < cells; other++)
+            {
+                int r = other / n;
+                int c = other % n;
+                if (other != cell && (r == row || c == col || box(r, c) == box(row, col)))
+                {
+                    peers[cell][k++] = other;
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the shape for a box size, building it the first time.
+     * @param box box size, 2 (4x4) to 7 (49x49)
+     * @return the shared shape
+     */
+    public static synchronized GridSpec of(int box)
+    {
+        if (box < MIN_BOX || box > MAX_BOX)
+        {
+            throw new IllegalArgumentException("Box size must be " + MIN_BOX + " to " + MAX_BOX + ": " + box);
+        }
+        if (SPECS[box] == null)
+        {
+            SPECS[box] = new GridSpec(box);
+        }
+        return SPECS[box];
+    }
+
+    /**
+     * @param row row index
+     * @param col column index
+     * @return box index
+     */
+    public int box(int row, int col)
+    {
+        return (row / box) * box + col / box;
+    }
+
+    /**
+     * Writes a board as one character per cell: 1–9, then A, B, C and so on,
+     * and 0 for empty cells.
+     * @param grid board to write
+     * @return the line
+     */
+    public String toLine(int[] grid)
+    {
+        StringBuilder line = new StringBuilder(cells);
+        for (int cell = 0; cell < cells; cell++)
+        {
+            line.append(symbol(grid[cell]));
+        }
+        return line.toString();
+    }
+
+    /**
+     * Writes a board like toLine, as ASCII bytes.
+     * @param grid board to write
+     * @param buf buffer with at least cells bytes remaining
+     */
+    public void writeLine(int[] grid, ByteBuffer buf)
+    {
+        for (int cell = 0; cell < cells; cell++)
+        {
+            buf.put((byte)symbol(grid[cell]));
+        }
+    }
+
+    private static char symbol(int value)
+    {
+        return Character.toUpperCase(Character.forDigit(value, 36));
+    }
+
+    /**
+     * Reads a board written by toLine; '.' is also read as empty.
+     * @param line text to read
+     * @param grid board to fill
+     */
+    public void fromLine(CharSequence line, int[] grid)
+    {
+        if (line.length() < cells)
+        {
+            throw new IllegalArgumentException("Line has " + line.length() + " cells, expected " + cells);
+        }
+        for (int cell = 0; cell < cells; cell++)
+        {
+            char c = line.charAt(cell);
+            int value = c == '.' ? 0 : Character.digit(c, 36);
+            if (value < 0 || value > n)
+            {
+                throw new IllegalArgumentException("Bad cell '" + c + "' at " + cell);
+            }
+            grid[cell] = value;
+        }
+    }
+
+    public String toString()
+    {
+        return n + "x" + n;
+    }
+}
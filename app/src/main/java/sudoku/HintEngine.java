@@ -0,0 +1,307 @@
+package sudoku;
+
+/**
+ * Finds the next cell a player can fill by logic, and the technique that
+ * justifies it. Candidate masks for every cell are kept up to date as the
+ * player types: a change touches the cell's row, column and box counts
+ * and the candidates of the cell and its 20 peers, so nothing is rebuilt
+ * when a hint is asked for. Singles are found straight from those masks;
+ * anything harder goes to the DifficultyRater's technique ladder.
+ *
+ * Times for candidate updates and hint searches are kept so the cost on
+ * the event thread can be checked.
+ */
+public class HintEngine
+{
+    /** Hint technique for a player's number that does not match the solution. */
+    public static final int MISTAKE = -1;
+
+    private int[] values = new int[81];
+    private int[] solution = new int[81];
+    private int[] counts = new int[27 * 9];
+    private int[] used = new int[27];
+    private int[] cands = new int[81];
+    private DifficultyRater rater = new DifficultyRater();
+
+    private int hintCell = -1;
+    private int hintNum = 0;
+    private int hintTechnique = DifficultyRater.NONE;
+
+    private long updates = 0;
+    private long updateNanos = 0;
+    private long searches = 0;
+    private long searchNanos = 0;
+    private long lastSearchNanos = 0;
+    private long maxSearchNanos = 0;
+
+    /**
+     * Rebuilds every count and candidate for a new position.
+     * @param board current board, 0 for empty cells
+     * @param solved solution of the puzzle
+     */
+    public void load(int[][] board, int[][] solved)
+    {
+        for (int i = 0; i < counts.length; i++)
+        {
+            counts[i] = 0;
+        }
+        for (int u = 0; u < 27; u++)
+        {
+            used[u] = 0;
+        }
+        for (int cell = 0; cell < 81; cell++)
+        {
+            values[cell] = board[cell / 9][cell % 9];
+            solution[cell] = solved[cell / 9][cell % 9];
+            if (values[cell] != 0)
+            {
+                count(cell, values[cell], 1);
+            }
+        }
+        for (int cell = 0; cell < 81; cell++)
+        {
+            updateCandidates(cell);
+        }
+    }
+
+    /**
+     * Changes one cell and updates the candidates it affects.
+     * @param row row index
+     * @param col column index
+     * @param num new number, 0 to clear the cell
+     */
+    public void set(int row, int col, int num)
+    {
+        long start = System.nanoTime();
+        int cell = row * 9 + col;
+        int old = values[cell];
+        if (old != num)
+        {
+            if (old != 0)
+            {
+                count(cell, old, -1);
+            }
+            values[cell] = num;
+            if (num != 0)
+            {
+                count(cell, num, 1);
+            }
+            updateCandidates(cell);
+            for (int i = 0; i < 20; i++)
+            {
+                updateCandidates(ConstraintEngine.PEERS[cell][i]);
+            }
+        }
+        updateNanos += System.nanoTime() - start;
+        updates++;
+    }
+
+    /**
+     * @param row row index
+     * @param col column index
+     * @return numbers still allowed in the cell, bit (num - 1) per number; 0 if filled
+     */
+    public int candidates(int row, int col)
+    {
+        return cands[row * 9 + col];
+    }
+
+    /**
+     * Looks for the next hint. A player's number that does not match the
+     * solution is reported first as a MISTAKE. Otherwise the easiest
+     * logical step that fills a cell is found. If logic is stuck, the
+     * empty cell with the fewest candidates is revealed from the solution
+     * and the technique is GUESS.
+     * @return false if the board is already full and correct
+     */
+    public boolean hint()
+    {
+        long start = System.nanoTime();
+        boolean found = search();
+        lastSearchNanos = System.nanoTime() - start;
+        searchNanos += lastSearchNanos;
+        searches++;
+        if (lastSearchNanos > maxSearchNanos)
+        {
+            maxSearchNanos = lastSearchNanos;
+        }
+        return found;
+    }
+
+    /**
+     * @return row of the last hint
+     */
+    public int getRow()
+    {
+        return hintCell / 9;
+    }
+
+    /**
+     * @return column of the last hint
+     */
+    public int getCol()
+    {
+        return hintCell % 9;
+    }
+
+    /**
+     * @return number that belongs in the last hinted cell
+     */
+    public int getNum()
+    {
+        return hintNum;
+    }
+
+    /**
+     * @return technique of the last hint: MISTAKE or a DifficultyRater technique
+     */
+    public int getTechnique()
+    {
+        return hintTechnique;
+    }
+
+    /**
+     * @return display name of the last hint's technique
+     */
+    public String getTechniqueName()
+    {
+        return hintTechnique == MISTAKE ? "Mistake" : DifficultyRater.name(hintTechnique);
+    }
+
+    /**
+     * @return average time of a candidate update in nanoseconds
+     */
+    public long getAverageUpdateNanos()
+    {
+        return updates == 0 ? 0 : updateNanos / updates;
+    }
+
+    /**
+     * @return time of the last hint search in nanoseconds
+     */
+    public long getLastSearchNanos()
+    {
+        return lastSearchNanos;
+    }
+
+    /**
+     * @return longest hint search so far in nanoseconds
+     */
+    public long getMaxSearchNanos()
+    {
+        return maxSearchNanos;
+    }
+
+    /**
+     * @return average time of a hint search in nanoseconds
+     */
+    public long getAverageSearchNanos()
+    {
+        return searches == 0 ? 0 : searchNanos / searches;
+    }
+
+    public String toString()
+    {
+        return String.format("hint %.3f ms (avg %.3f ms, max %.3f ms), candidate update avg %.2f us over %d updates",
+            lastSearchNanos / 1e6, getAverageSearchNanos() / 1e6, maxSearchNanos / 1e6,
+            getAverageUpdateNanos() / 1e3, updates);
+    }
+
+    private boolean search()
+    {
+        int best = -1;
+        for (int cell = 0; cell < 81; cell++)
+        {
+            if (values[cell] != 0 && values[cell] != solution[cell])
+            {
+                return setHint(cell, solution[cell], MISTAKE);
+            }
+            if (values[cell] == 0 && (best < 0 || Integer.bitCount(cands[cell]) < Integer.bitCount(cands[best])))
+            {
+                best = cell;
+            }
+        }
+        if (best < 0)
+        {
+            return false;
+        }
+
+        for (int u = 0; u < 27; u++)
+        {
+            int[] unit = ConstraintEngine.UNITS[u];
+            int once = 0;
+            int twice = 0;
+            for (int k = 0; k < 9; k++)
+            {
+                int c = cands[unit[k]];
+                twice |= once & c;
+                once |= c;
+            }
+            int singles = once & ~twice;
+            if (singles != 0)
+            {
+                int bit = singles & -singles;
+                for (int k = 0; k < 9; k++)
+                {
+                    if ((cands[unit[k]] & bit) != 0)
+                    {
+                        return setHint(unit[k], Integer.numberOfTrailingZeros(bit) + 1, DifficultyRater.HIDDEN_SINGLE);
+                    }
+                }
+            }
+        }
+        if (Integer.bitCount(cands[best]) == 1)
+        {
+            return setHint(best, Integer.numberOfTrailingZeros(cands[best]) + 1, DifficultyRater.NAKED_SINGLE);
+        }
+
+        int cell = rater.nextPlacement(values, cands);
+        if (cell >= 0)
+        {
+            return setHint(cell, rater.value(cell / 9, cell % 9), rater.getHardest());
+        }
+        return setHint(best, solution[best], DifficultyRater.GUESS);
+    }
+
+    private boolean setHint(int cell, int num, int technique)
+    {
+        hintCell = cell;
+        hintNum = num;
+        hintTechnique = technique;
+        return true;
+    }
+
+    private void updateCandidates(int cell)
+    {
+        if (values[cell] != 0)
+        {
+            cands[cell] = 0;
+            return;
+        }
+        int row = cell / 9;
+        int col = cell % 9;
+        cands[cell] = ~(used[row] | used[9 + col] | used[18 + ConstraintEngine.box(row, col)]) & ConstraintEngine.ALL;
+    }
+
+    private void count(int cell, int num, int delta)
+    {
+        int row = cell / 9;
+        int col = cell % 9;
+        countUnit(row, num, delta);
+        countUnit(9 + col, num, delta);
+        countUnit(18 + ConstraintEngine.box(row, col), num, delta);
+    }
+
+    private void countUnit(int u, int num, int delta)
+    {
+        counts[u * 9 + num - 1] += delta;
+        if (counts[u * 9 + num - 1] == 0)
+        {
+            used[u] &= ~(1 << (num - 1));
+        }
+        else
+        {
+            used[u] |= 1 << (num - 1);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package sudoku;
+
+import java.util.Arrays;
+
+/**
+ * The Main class is the entry point for the Sudoku application.
+ * It initializes the SudokuDisplay and starts the GUI at the difficulty
+ * selection screen, or runs the headless BulkGenerator when the first
+ * argument is "generate".
+ */
+public class Main 
+{
+    public static void main(String args[]) throws Exception
+    {
+        if (args.length > 0 && args[0].equals("generate"))
+        {
+            BulkGenerator.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        SudokuDisplay sd = new SudokuDisplay();
+        sd.guiPageOne();
+    }
+}
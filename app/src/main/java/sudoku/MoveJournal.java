@@ -0,0 +1,285 @@
+package sudoku;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Records board edits for undo and redo. Each move is packed into one long
+ * in a growable array, so recording a move allocates nothing once the
+ * array has grown. Bits 0–7 hold the cell (row * 9 + col), bits 8–11 the
+ * new number, bits 12–15 the old number, and bits 16–63 the milliseconds
+ * since the previous move.
+ *
+ * Moves before position() are applied; moves from position() to size() can
+ * be redone. Recording a move after an undo drops the redo tail.
+ */
+public class MoveJournal
+{
+    public static final int MAGIC = 0x53444B4A;
+    public static final int VERSION = 1;
+    public static final int HEADER_BYTES = 24;
+
+    private long[] moves;
+    private int size = 0;
+    private int position = 0;
+    private long startMillis = 0;
+    private long lastMillis = 0;
+
+    public MoveJournal()
+    {
+        moves = new long[256];
+    }
+
+    /**
+     * Forgets every move and starts timing from a new game.
+     * @param now start time in milliseconds
+     */
+    public void clear(long now)
+    {
+        size = 0;
+        position = 0;
+        startMillis = now;
+        lastMillis = now;
+    }
+
+    /**
+     * Records a move, dropping any moves that were undone.
+     * @param row row index
+     * @param col column index
+     * @param oldNum number before the move, 0 for empty
+     * @param newNum number after the move, 0 for empty
+     * @param now time of the move in milliseconds
+     */
+    public void record(int row, int col, int oldNum, int newNum, long now)
+    {
+        if (position == moves.length)
+        {
+            moves = Arrays.copyOf(moves, moves.length * 2);
+        }
+        long delta = Math.max(0, now - lastMillis);
+        lastMillis = now;
+        moves[position++] = pack(row * 9 + col, oldNum, newNum, delta);
+        size = position;
+    }
+
+    /**
+     * @return true if there is a move to undo
+     */
+    public boolean canUndo()
+    {
+        return position > 0;
+    }
+
+    /**
+     * @return true if there is an undone move to redo
+     */
+    public boolean canRedo()
+    {
+        return position < size;
+    }
+
+    /**
+     * Steps back one move. The caller puts oldValue(move) back into cell(move).
+     * @return the move undone
+     */
+    public long undo()
+    {
+        if (position == 0)
+        {
+            throw new IllegalStateException("Nothing to undo");
+        }
+        return moves[--position];
+    }
+
+    /**
+     * Steps forward one move. The caller puts newValue(move) into cell(move).
+     * @return the move redone
+     */
+    public long redo()
+    {
+        if (position == size)
+        {
+            throw new IllegalStateException("Nothing to redo");
+        }
+        return moves[position++];
+    }
+
+    /**
+     * Moves to a move index on a bare board, undoing or redoing as needed.
+     * @param board board to update
+     * @param index number of moves to leave applied, 0 to size()
+     */
+    public void rewind(int[][] board, int index)
+    {
+        if (index < 0 || index > size)
+        {
+            throw new IndexOutOfBoundsException("Move " + index + " of " + size);
+        }
+        while (position > index)
+        {
+            long move = undo();
+            board[cell(move) / 9][cell(move) % 9] = oldValue(move);
+        }
+        while (position < index)
+        {
+            long move = redo();
+            board[cell(move) / 9][cell(move) % 9] = newValue(move);
+        }
+    }
+
+    /**
+     * @return number of moves applied
+     */
+    public int position()
+    {
+        return position;
+    }
+
+    /**
+     * @return number of moves recorded, including undone ones
+     */
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+     * @param index move index, 0 to size() - 1
+     * @return the packed move
+     */
+    public long get(int index)
+    {
+        if (index < 0 || index >= size)
+        {
+            throw new IndexOutOfBoundsException("Move " + index + " of " + size);
+        }
+        return moves[index];
+    }
+
+    /**
+     * @return time the journal was started, in milliseconds
+     */
+    public long getStartMillis()
+    {
+        return startMillis;
+    }
+
+    /**
+     * Packs a move into a long.
+     * @param cell cell index, row * 9 + col
+     * @param oldNum number before the move
+     * @param newNum number after the move
+     * @param delta milliseconds since the previous move
+     * @return the packed move
+     */
+    public static long pack(int cell, int oldNum, int newNum, long delta)
+    {
+        return (delta << 16) | ((long)oldNum << 12) | ((long)newNum << 8) | cell;
+    }
+
+    /**
+     * @param move packed move
+     * @return cell index, row * 9 + col
+     */
+    public static int cell(long move)
+    {
+        return (int)(move & 0xFF);
+    }
+
+    /**
+     * @param move packed move
+     * @return number after the move
+     */
+    public static int newValue(long move)
+    {
+        return (int)((move >>> 8) & 0xF);
+    }
+
+    /**
+     * @param move packed move
+     * @return number before the move
+     */
+    public static int oldValue(long move)
+    {
+        return (int)((move >>> 12) & 0xF);
+    }
+
+    /**
+     * @param move packed move
+     * @return milliseconds since the previous move
+     */
+    public static long delta(long move)
+    {
+        return move >>> 16;
+    }
+
+    /**
+     * @return bytes needed by exportTo
+     */
+    public int exportBytes()
+    {
+        return HEADER_BYTES + size * 8;
+    }
+
+    /**
+     * Writes the journal for replay: magic, version, move count, position and
+     * start time, then every move as a big-endian long.
+     * @param buf buffer with at least exportBytes() remaining
+     */
+    public void exportTo(ByteBuffer buf)
+    {
+        buf.putInt(MAGIC);
+        buf.putInt(VERSION);
+        buf.putInt(size);
+        buf.putInt(position);
+        buf.putLong(startMillis);
+        for (int i = 0; i < size; i++)
+        {
+            buf.putLong(moves[i]);
+        }
+    }
+
+    /**
+     * Reads a journal written by exportTo, replacing this one.
+     * @param buf buffer positioned at the journal
+     * @throws IllegalArgumentException if the data is not a journal or a
+     *         move names a cell or number that is not on the board
+     */
+    public void importFrom(ByteBuffer buf)
+    {
+        if (buf.getInt() != MAGIC)
+        {
+            throw new IllegalArgumentException("Not a move journal");
+        }
+        int version = buf.getInt();
+        if (version != VERSION)
+        {
+            throw new IllegalArgumentException("Unsupported journal version " + version);
+        }
+        int count = buf.getInt();
+        int at = buf.getInt();
+        long start = buf.getLong();
+        if (count < 0 || at < 0 || at > count || count > buf.remaining() / 8)
+        {
+            throw new IllegalArgumentException("Corrupt move journal");
+        }
+        if (moves.length < count)
+        {
+            moves = new long[Math.max(count, moves.length * 2)];
+        }
+        startMillis = start;
+        lastMillis = startMillis;
+        for (int i = 0; i < count; i++)
+        {
+            long move = buf.getLong();
+            if (cell(move) >= 81 || oldValue(move) > 9 || newValue(move) > 9)
+            {
+                throw new IllegalArgumentException("Corrupt move " + i + " in journal");
+            }
+            moves[i] = move;
+            lastMillis += delta(move);
+        }
+        size = count;
+        position = at;
+    }
+}
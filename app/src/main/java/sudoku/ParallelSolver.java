@@ -0,0 +1,215 @@
+package sudoku;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Solves one board on many cores with a ForkJoinPool. A task searches its
+ * subtree with a GridSolver, and while the pool has idle workers the
+ * search gives away the untried numbers at its shallowest open branch,
+ * the largest subtrees it has left, as new tasks for those workers to
+ * steal. No work is repeated, so on one thread this costs little more
+ * than the plain GridSolver. Once the first solution is found (or the
+ * limit, for counting), a shared flag stops every other task.
+ *
+ * Works on GridSpec boards of any size, and on 9x9 int[][] grids through
+ * the SudokuSolver interface.
+ */
+public class ParallelSolver implements SudokuSolver
+{
+    private static final int SURPLUS_TASKS = 2;
+
+    private final GridSpec spec;
+    private final ForkJoinPool pool;
+    private final ThreadLocal<GridSolver> solvers;
+    private final int[] flat;
+
+    /**
+     * A 9x9 solver on the common pool.
+     */
+    public ParallelSolver()
+    {
+        this(GridSpec.of(3));
+    }
+
+    /**
+     * @param spec board shape
+     */
+    public ParallelSolver(GridSpec spec)
+    {
+        this(spec, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param spec board shape
+     * @param pool pool to run on, e.g. one with a fixed number of threads
+     */
+    public ParallelSolver(GridSpec spec, ForkJoinPool pool)
+    {
+        this.spec = spec;
+        this.pool = pool;
+        solvers = ThreadLocal.withInitial(() -> new GridSolver(spec));
+        flat = new int[spec.cells];
+    }
+
+    /**
+     * Solves a board in place.
+     * @param grid board to solve, filled with the first solution found
+     * @return true if a solution was found
+     */
+    public boolean solve(int[] grid)
+    {
+        Search search = run(grid, 1);
+        if (search.solution.get() == null)
+        {
+            return false;
+        }
+        System.arraycopy(search.solution.get(), 0, grid, 0, spec.cells);
+        return true;
+    }
+
+    /**
+     * Counts the solutions of a board, stopping early at a limit.
+     * The board is left unchanged.
+     * @param grid board to check
+     * @param limit stop counting once this many solutions are found
+     * @return number of solutions found, at most limit
+     */
+    public int countSolutions(int[] grid, int limit)
+    {
+        return Math.min(run(grid, limit).found.get(), limit);
+    }
+
+    public synchronized boolean solve(int[][] grid)
+    {
+        flatten(grid);
+        if (!solve(flat))
+        {
+            return false;
+        }
+        for (int cell = 0; cell < spec.cells; cell++)
+        {
+            grid[cell / spec.n][cell % spec.n] = flat[cell];
+        }
+        return true;
+    }
+
+    public synchronized int countSolutions(int[][] grid, int limit)
+    {
+        flatten(grid);
+        return countSolutions(flat, limit);
+    }
+
+    /**
+     * @return the pool searches run on
+     */
+    public ForkJoinPool getPool()
+    {
+        return pool;
+    }
+
+    private void flatten(int[][] grid)
+    {
+        for (int cell = 0; cell < spec.cells; cell++)
+        {
+            flat[cell] = grid[cell / spec.n][cell % spec.n];
+        }
+    }
+
+    private Search run(int[] grid, int limit)
+    {
+        Search search = new Search(limit);
+        pool.invoke(new Subtree(grid.clone(), search));
+        return search;
+    }
+
+    /** State shared by every task of one search. */
+    private static class Search
+    {
+        final int limit;
+        final AtomicInteger found = new AtomicInteger();
+        final AtomicBoolean done = new AtomicBoolean();
+        final AtomicReference<int[]> solution = new AtomicReference<>();
+
+        Search(int limit)
+        {
+            this.limit = limit;
+        }
+
+        boolean add(int[] solved)
+        {
+            if (solution.get() == null)
+            {
+                solution.compareAndSet(null, solved.clone());
+            }
+            if (found.incrementAndGet() >= limit)
+            {
+                done.set(true);
+            }
+            return done.get();
+        }
+    }
+
+    /** Searches the solutions that extend one partly filled board. */
+    private class Subtree extends RecursiveAction implements GridSolver.Listener
+    {
+        private final int[] grid;
+        private final Search search;
+        private List<Subtree> given = null;
+
+        Subtree(int[] grid, Search search)
+        {
+            this.grid = grid;
+            this.search = search;
+        }
+
+        protected void compute()
+        {
+            if (!search.done.get())
+            {
+                GridSolver solver = solvers.get();
+                solver.setListener(this);
+                solver.countSolutions(grid, search.limit);
+                solver.setListener(null);
+            }
+            if (given != null)
+            {
+                for (int i = given.size() - 1; i >= 0; i--)
+                {
+                    given.get(i).join();
+                }
+            }
+        }
+
+        public boolean solved(int[] solution)
+        {
+            return search.add(solution);
+        }
+
+        public boolean stopped()
+        {
+            return search.done.get();
+        }
+
+        public boolean wantsWork()
+        {
+            return getSurplusQueuedTaskCount() < SURPLUS_TASKS && pool.getActiveThreadCount() < pool.getParallelism();
+        }
+
+        public void split(int[] branch)
+        {
+            if (given == null)
+            {
+                given = new ArrayList<>();
+            }
+            Subtree task = new Subtree(branch, search);
+            given.add(task);
+            task.fork();
+        }
+    }
+}
@@ -0,0 +1,363 @@
+package sudoku;
+
+import java.util.Arrays;
+
+/**
+ * An immutable 9x9 puzzle: the givens, the solution, the difficulty and
+ * the ID it can be generated again from. Cells are held in private byte
+ * arrays that never leave the object, so a Puzzle can be shared between
+ * threads and read cell by cell without copying. getGivens and getSolution
+ * hand out fresh arrays for code that needs a grid to edit.
+ *
+ * A puzzle ID is 64 bits: the difficulty index in bits 62–63, a rated flag
+ * in bit 61 (made by createRatedBoard rather than createBoard), a transform
+ * flag in bit 60 (grid filled by SudokuGenerator's transform fill rather
+ * than by search), a derived flag in bit 59, and the seed in bits 0–58. A
+ * derived puzzle is one of PuzzleDeriver's numbered seed puzzles moved by a
+ * SudokuTransform: its ID holds the seed puzzle's number in bits 51–58 and
+ * the transform's seed in bits 0–50. PuzzleGenerator.regenerate turns an ID
+ * back into the same puzzle on any JVM.
+ */
+public final class Puzzle
+{
+    /** ID of a puzzle that was not generated, e.g. one read from a bank. */
+    public static final long NO_ID = -1L;
+    /** Seeds are masked to the 59 bits an ID has room for. */
+    public static final long SEED_MASK = (1L << 59) - 1;
+    /** Transform seeds of derived puzzles are masked to 51 bits. */
+    public static final long TRANSFORM_SEED_MASK = (1L << 51) - 1;
+    private static final long RATED = 1L << 61;
+    private static final long TRANSFORM = 1L << 60;
+    private static final long DERIVED = 1L << 59;
+
+    private final byte[] givens = new byte[81];
+    private final byte[] solution = new byte[81];
+    private final String difficulty;
+    private final long id;
+
+    private Puzzle(byte[] givens, byte[] solution, String difficulty, long id)
+    {
+        System.arraycopy(givens, 0, this.givens, 0, 81);
+        System.arraycopy(solution, 0, this.solution, 0, 81);
+        this.difficulty = difficulty;
+        this.id = id;
+    }
+
+    private Puzzle(int[][] givens, int[][] solution, String difficulty, long id)
+    {
+        for (int cell = 0; cell < 81; cell++)
+        {
+            int given = givens[cell / 9][cell % 9];
+            int solved = solution[cell / 9][cell % 9];
+            if (given < 0 || given > 9 || solved < 1 || solved > 9 || (given != 0 && given != solved))
+            {
+                throw new IllegalArgumentException("Givens do not match the solution at cell " + cell);
+            }
+            this.givens[cell] = (byte)given;
+            this.solution[cell] = (byte)solved;
+        }
+        this.difficulty = difficulty;
+        this.id = id;
+    }
+
+    /**
+     * Copies grids into a new puzzle made from an ID.
+     * @param givens the puzzle, 0 for empty cells
+     * @param solution its solution
+     * @param id ID the puzzle was generated from
+     * @return the puzzle
+     */
+    public static Puzzle of(int[][] givens, int[][] solution, long id)
+    {
+        return new Puzzle(givens, solution, difficultyOf(id), id);
+    }
+
+    /**
+     * Copies grids into a new puzzle that has no ID.
+     * @param givens the puzzle, 0 for empty cells
+     * @param solution its solution
+     * @param difficulty difficulty ("Easy", "Medium", "Hard")
+     * @return the puzzle
+     */
+    public static Puzzle of(int[][] givens, int[][] solution, String difficulty)
+    {
+        return new Puzzle(givens, solution, difficulty, NO_ID);
+    }
+
+    /**
+     * Builds a puzzle ID.
+     * @param difficulty difficulty ("Easy", "Medium", "Hard")
+     * @param rated true if the puzzle is made by createRatedBoard
+     * @param transformFill true if the grid is filled by transforming a seed grid
+     * @param seed seed for the generator; only the low 59 bits are kept
+     * @return the ID
+     */
+    public static long id(String difficulty, boolean rated, boolean transformFill, long seed)
+    {
+        for (int d = 0; d < PuzzlePool.DIFFICULTIES.length; d++)
+        {
+            if (PuzzlePool.DIFFICULTIES[d].equals(difficulty))
+            {
+                return ((long)d << 62) | (rated ? RATED : 0) | (transformFill ? TRANSFORM : 0)
+                    | (seed & SEED_MASK);
+            }
+        }
+        throw new IllegalArgumentException("Unknown difficulty " + difficulty);
+    }
+
+    /**
+     * Builds the ID of a derived puzzle.
+     * @param difficulty difficulty ("Easy", "Medium", "Hard")
+     * @param index number of the seed puzzle, 0 to 255
+     * @param transformSeed seed of the transform; only the low 51 bits are kept
+     * @return the ID
+     */
+    public static long derivedId(String difficulty, int index, long transformSeed)
+    {
+        return id(difficulty, true, true, 0) | DERIVED | ((long)index << 51) | (transformSeed & TRANSFORM_SEED_MASK);
+    }
+
+    /**
+     * @param id puzzle ID
+     * @return true if the ID is for a puzzle derived from a numbered seed puzzle
+     */
+    public static boolean isDerived(long id)
+    {
+        return (id & DERIVED) != 0;
+    }
+
+    /**
+     * @param id ID of a derived puzzle
+     * @return number of its seed puzzle
+     */
+    public static int seedIndexOf(long id)
+    {
+        return (int)(id >>> 51) & 0xFF;
+    }
+
+    /**
+     * @param id ID of a derived puzzle
+     * @return seed of its transform
+     */
+    public static long transformSeedOf(long id)
+    {
+        return id & TRANSFORM_SEED_MASK;
+    }
+
+    /**
+     * @param id puzzle ID
+     * @return difficulty in the ID
+     */
+    public static String difficultyOf(long id)
+    {
+        int d = (int)(id >>> 62);
+        if (d >= PuzzlePool.DIFFICULTIES.length)
+        {
+            throw new IllegalArgumentException("Not a puzzle ID: " + formatId(id));
+        }
+        return PuzzlePool.DIFFICULTIES[d];
+    }
+
+    /**
+     * @param id puzzle ID
+     * @return true if the ID is for a rated puzzle
+     */
+    public static boolean isRated(long id)
+    {
+        return (id & RATED) != 0;
+    }
+
+    /**
+     * @param id puzzle ID
+     * @return true if the ID is for a puzzle whose grid was transformed from a seed grid
+     */
+    public static boolean isTransformFill(long id)
+    {
+        return (id & TRANSFORM) != 0;
+    }
+
+    /**
+     * @param id puzzle ID
+     * @return seed in the ID
+     */
+    public static long seedOf(long id)
+    {
+        return id & SEED_MASK;
+    }
+
+    /**
+     * @param id puzzle ID
+     * @return the ID as 16 hex digits
+     */
+    public static String formatId(long id)
+    {
+        return String.format("%016X", id);
+    }
+
+    /**
+     * @param text ID as written by formatId
+     * @return the ID
+     */
+    public static long parseId(String text)
+    {
+        return Long.parseUnsignedLong(text.trim(), 16);
+    }
+
+    /**
+     * Moves the puzzle and its solution by the same transform. The result is
+     * a valid puzzle with one solution and the same difficulty.
+     * @param transform the transform to apply
+     * @param newId ID of the result, or NO_ID
+     * @return the transformed puzzle
+     */
+    public Puzzle transform(SudokuTransform transform, long newId)
+    {
+        byte[] movedGivens = new byte[81];
+        byte[] movedSolution = new byte[81];
+        for (int r = 0; r < 9; r++)
+        {
+            for (int c = 0; c < 9; c++)
+            {
+                int from = transform.isTranspose() ? transform.col(c) * 9 + transform.row(r)
+                    : transform.row(r) * 9 + transform.col(c);
+                movedGivens[r * 9 + c] = (byte)transform.digit(givens[from]);
+                movedSolution[r * 9 + c] = (byte)transform.digit(solution[from]);
+            }
+        }
+        return new Puzzle(movedGivens, movedSolution, difficulty, newId);
+    }
+
+    /**
+     * @param row row index
+     * @param col column index
+     * @return the given number, 0 for an empty cell
+     */
+    public int given(int row, int col)
+    {
+        return givens[row * 9 + col];
+    }
+
+    /**
+     * @param row row index
+     * @param col column index
+     * @return the number in the solution
+     */
+    public int solution(int row, int col)
+    {
+        return solution[row * 9 + col];
+    }
+
+    /**
+     * @return a new copy of the givens, 0 for empty cells
+     */
+    public int[][] getGivens()
+    {
+        int[][] grid = new int[9][9];
+        copyGivens(grid);
+        return grid;
+    }
+
+    /**
+     * @return a new copy of the solution
+     */
+    public int[][] getSolution()
+    {
+        int[][] grid = new int[9][9];
+        copySolution(grid);
+        return grid;
+    }
+
+    /**
+     * @param grid 9x9 grid to fill with the givens
+     */
+    public void copyGivens(int[][] grid)
+    {
+        for (int cell = 0; cell < 81; cell++)
+        {
+            grid[cell / 9][cell % 9] = givens[cell];
+        }
+    }
+
+    /**
+     * @param grid 9x9 grid to fill with the solution
+     */
+    public void copySolution(int[][] grid)
+    {
+        for (int cell = 0; cell < 81; cell++)
+        {
+            grid[cell / 9][cell % 9] = solution[cell];
+        }
+    }
+
+    /**
+     * @return number of givens
+     */
+    public int clueCount()
+    {
+        int count = 0;
+        for (int cell = 0; cell < 81; cell++)
+        {
+            if (givens[cell] != 0)
+            {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @return difficulty ("Easy", "Medium", "Hard")
+     */
+    public String getDifficulty()
+    {
+        return difficulty;
+    }
+
+    /**
+     * @return ID the puzzle can be made again from, or NO_ID
+     */
+    public long getId()
+    {
+        return id;
+    }
+
+    /**
+     * @return true if the puzzle can be made again from its ID
+     */
+    public boolean hasId()
+    {
+        return id != NO_ID;
+    }
+
+    @Override
+    public boolean equals(Object other)
+    {
+        if (!(other instanceof Puzzle))
+        {
+            return false;
+        }
+        Puzzle p = (Puzzle)other;
+        return id == p.id && difficulty.equals(p.difficulty)
+            && Arrays.equals(givens, p.givens) && Arrays.equals(solution, p.solution);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return 31 * Arrays.hashCode(givens) + Long.hashCode(id);
+    }
+
+    /**
+     * @return the difficulty and the 81 givens in the line form, 0 for empty cells
+     */
+    @Override
+    public String toString()
+    {
+        StringBuilder line = new StringBuilder(difficulty).append(' ');
+        for (int cell = 0; cell < 81; cell++)
+        {
+            line.append((char)('0' + givens[cell]));
+        }
+        return line.toString();
+    }
+}
@@ -0,0 +1,167 @@
+package sudoku;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Read-only bank of pre-built puzzles, memory-mapped from a file.
+ *
+ * Layout: a 64-byte header, then fixed-size 82-byte PuzzleCodec records
+ * grouped by difficulty. The header holds the magic "SDKB", a version,
+ * the record size, and for each of Easy, Medium and Hard the index of its
+ * first record and its record count (big-endian).
+ *
+ * Records are read straight out of the mapping, so opening a bank copies
+ * nothing onto the heap and fetching any puzzle is O(1). Banks larger than
+ * one mapping can hold are split across several mapped segments.
+ */
+public class PuzzleBank implements Closeable
+{
+    public static final int MAGIC = 0x53444B42;
+    public static final int VERSION = 1;
+    public static final int HEADER_BYTES = 64;
+    private static final int INDEX_START = 16;
+    private static final long SEGMENT_RECORDS = 1 << 24;
+
+    private FileChannel channel;
+    private MappedByteBuffer[] segments;
+    private long[] first = new long[PuzzlePool.DIFFICULTIES.length];
+    private long[] counts = new long[PuzzlePool.DIFFICULTIES.length];
+
+    private PuzzleBank(FileChannel channel) throws IOException
+    {
+        this.channel = channel;
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.BIG_ENDIAN);
+        if (channel.read(header, 0) < HEADER_BYTES)
+        {
+            throw new IOException("Puzzle bank is too short");
+        }
+        if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION
+            || header.getInt(8) != PuzzleCodec.RECORD_BYTES)
+        {
+            throw new IOException("Not a version " + VERSION + " puzzle bank");
+        }
+        long total = 0;
+        for (int d = 0; d < first.length; d++)
+        {
+            first[d] = header.getLong(INDEX_START + d * 16);
+            counts[d] = header.getLong(INDEX_START + d * 16 + 8);
+            total = Math.max(total, first[d] + counts[d]);
+        }
+        if (HEADER_BYTES + total * PuzzleCodec.RECORD_BYTES > channel.size())
+        {
+            throw new IOException("Puzzle bank is truncated");
+        }
+
+        segments = new MappedByteBuffer[(int)((total + SEGMENT_RECORDS - 1) / SEGMENT_RECORDS)];
+        for (int i = 0; i < segments.length; i++)
+        {
+            long start = i * SEGMENT_RECORDS;
+            long records = Math.min(SEGMENT_RECORDS, total - start);
+            segments[i] = channel.map(FileChannel.MapMode.READ_ONLY,
+                HEADER_BYTES + start * PuzzleCodec.RECORD_BYTES, records * PuzzleCodec.RECORD_BYTES);
+        }
+    }
+
+    /**
+     * Opens and maps a bank file.
+     * @param path bank file
+     * @return the open bank
+     */
+    public static PuzzleBank open(Path path) throws IOException
+    {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try
+        {
+            return new PuzzleBank(channel);
+        }
+        catch (IOException | RuntimeException e)
+        {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Writes a bank header.
+     * @param header buffer of at least 64 bytes, written from index 0
+     * @param first index of the first record of each difficulty
+     * @param counts number of records of each difficulty
+     */
+    public static void writeHeader(ByteBuffer header, long[] first, long[] counts)
+    {
+        header.order(ByteOrder.BIG_ENDIAN);
+        header.putInt(0, MAGIC);
+        header.putInt(4, VERSION);
+        header.putInt(8, PuzzleCodec.RECORD_BYTES);
+        for (int d = 0; d < first.length; d++)
+        {
+            header.putLong(INDEX_START + d * 16, first[d]);
+            header.putLong(INDEX_START + d * 16 + 8, counts[d]);
+        }
+    }
+
+    /**
+     * @param diff difficulty ("Easy", "Medium", "Hard")
+     * @return number of puzzles of that difficulty
+     */
+    public long count(String diff)
+    {
+        int d = index(diff);
+        return d < 0 ? 0 : counts[d];
+    }
+
+    /**
+     * Reads one puzzle.
+     * @param diff difficulty ("Easy", "Medium", "Hard")
+     * @param n which puzzle of that difficulty, from 0
+     * @param puzzle grid to fill with the puzzle
+     * @param solution grid to fill with the solution
+     */
+    public void read(String diff, long n, int[][] puzzle, int[][] solution)
+    {
+        if (n < 0 || n >= count(diff))
+        {
+            throw new IndexOutOfBoundsException("No " + diff + " puzzle " + n);
+        }
+        long record = first[index(diff)] + n;
+        // absolute reads only, so the shared segments are safe to read from several threads
+        PuzzleCodec.readRecord(segments[(int)(record / SEGMENT_RECORDS)],
+            (int)(record % SEGMENT_RECORDS) * PuzzleCodec.RECORD_BYTES, puzzle, solution);
+    }
+
+    /**
+     * Reads a random puzzle.
+     * @param diff difficulty ("Easy", "Medium", "Hard")
+     * @param puzzle grid to fill with the puzzle
+     * @param solution grid to fill with the solution
+     */
+    public void random(String diff, int[][] puzzle, int[][] solution)
+    {
+        read(diff, ThreadLocalRandom.current().nextLong(count(diff)), puzzle, solution);
+    }
+
+    public void close() throws IOException
+    {
+        channel.close();
+    }
+
+    private static int index(String diff)
+    {
+        for (int d = 0; d < PuzzlePool.DIFFICULTIES.length; d++)
+        {
+            if (PuzzlePool.DIFFICULTIES[d].equals(diff))
+            {
+                return d;
+            }
+        }
+        return -1;
+    }
+}
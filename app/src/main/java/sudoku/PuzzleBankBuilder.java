@@ -0,0 +1,157 @@
+package sudoku;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Builds a PuzzleBank file from BulkGenerator output, one input file per
+ * difficulty. Binary input (82-byte records) is copied across with
+ * FileChannel.transferTo; text input is packed line by line.
+ *
+ * Usage: java -cp sudoku.jar sudoku.PuzzleBankBuilder --out BANK [--format text|binary]
+ *        [--easy FILE] [--medium FILE] [--hard FILE]
+ */
+public class PuzzleBankBuilder
+{
+    public static void main(String args[]) throws IOException
+    {
+        Path out = null;
+        boolean binary = true;
+        Path[] inputs = new Path[PuzzlePool.DIFFICULTIES.length];
+        if (args.length % 2 != 0)
+        {
+            usage();
+        }
+        for (int i = 0; i < args.length; i += 2)
+        {
+            switch (args[i])
+            {
+                case "--out":
+                    out = Paths.get(args[i + 1]);
+                    break;
+                case "--format":
+                    binary = !args[i + 1].equals("text");
+                    break;
+                case "--easy":
+                    inputs[0] = Paths.get(args[i + 1]);
+                    break;
+                case "--medium":
+                    inputs[1] = Paths.get(args[i + 1]);
+                    break;
+                case "--hard":
+                    inputs[2] = Paths.get(args[i + 1]);
+                    break;
+                default:
+                    usage();
+            }
+        }
+        if (out == null)
+        {
+            usage();
+        }
+
+        long[] first = new long[inputs.length];
+        long[] counts = new long[inputs.length];
+        try (FileChannel bank = FileChannel.open(out, StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE))
+        {
+            bank.position(PuzzleBank.HEADER_BYTES);
+            long records = 0;
+            for (int d = 0; d < inputs.length; d++)
+            {
+                first[d] = records;
+                if (inputs[d] != null)
+                {
+                    counts[d] = binary ? copyRecords(inputs[d], bank) : packLines(inputs[d], bank);
+                }
+                records += counts[d];
+            }
+            ByteBuffer header = ByteBuffer.allocate(PuzzleBank.HEADER_BYTES);
+            PuzzleBank.writeHeader(header, first, counts);
+            bank.write(header, 0);
+        }
+        System.err.printf("Wrote %s: Easy=%d Medium=%d Hard=%d%n", out, counts[0], counts[1], counts[2]);
+    }
+
+    private static void usage()
+    {
+        System.err.println("Usage: java -cp sudoku.jar sudoku.PuzzleBankBuilder --out BANK [--format text|binary] [--easy FILE] [--medium FILE] [--hard FILE]");
+        System.exit(1);
+    }
+
+    /**
+     * Appends a file of 82-byte records to the bank.
+     * @param input BulkGenerator binary output
+     * @param bank bank channel, positioned at the end
+     * @return number of records copied
+     */
+    private static long copyRecords(Path input, FileChannel bank) throws IOException
+    {
+        try (FileChannel in = FileChannel.open(input, StandardOpenOption.READ))
+        {
+            long size = in.size();
+            if (size % PuzzleCodec.RECORD_BYTES != 0)
+            {
+                throw new IOException(input + " is not a whole number of puzzle records");
+            }
+            long done = 0;
+            while (done < size)
+            {
+                done += in.transferTo(done, size - done, bank);
+            }
+            return size / PuzzleCodec.RECORD_BYTES;
+        }
+    }
+
+    /**
+     * Packs "puzzle solution" text lines into records and appends them to the bank.
+     * @param input BulkGenerator text output
+     * @param bank bank channel, positioned at the end
+     * @return number of records written
+     */
+    private static long packLines(Path input, FileChannel bank) throws IOException
+    {
+        int[][] puzzle = new int[9][9];
+        int[][] solution = new int[9][9];
+        ByteBuffer batch = ByteBuffer.allocate(PuzzleCodec.RECORD_BYTES * 1024);
+        long count = 0;
+        try (BufferedReader reader = Files.newBufferedReader(input, StandardCharsets.US_ASCII))
+        {
+            String line;
+            while ((line = reader.readLine()) != null)
+            {
+                if (line.isEmpty())
+                {
+                    continue;
+                }
+                PuzzleCodec.fromLine(line, puzzle);
+                PuzzleCodec.fromLine(line.substring(PuzzleCodec.LINE_CHARS + 1), solution);
+                PuzzleCodec.writeRecord(puzzle, solution, batch);
+                count++;
+                if (!batch.hasRemaining())
+                {
+                    writeFully(batch, bank);
+                }
+            }
+        }
+        writeFully(batch, bank);
+        return count;
+    }
+
+    private static void writeFully(ByteBuffer batch, FileChannel bank) throws IOException
+    {
+        batch.flip();
+        while (batch.hasRemaining())
+        {
+            bank.write(batch);
+        }
+        batch.clear();
+    }
+}
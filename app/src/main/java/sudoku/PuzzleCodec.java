@@ -0,0 +1,182 @@
+package sudoku;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Storage and wire formats for 9x9 grids.
+ *
+ * Packed form: 41 bytes, one 4-bit cell per nibble in row-major order,
+ * high nibble first, with the last low nibble unused. A record is a
+ * packed puzzle followed by its packed solution, 82 bytes in all.
+ *
+ * Line form: 81 ASCII digits in row-major order, 0 for blanks. Lines
+ * are also read with '.' for blanks.
+ *
+ * Methods taking an offset use absolute ByteBuffer access and leave
+ * the buffer position alone; the others read or write at the position
+ * and advance it. Nothing is allocated, so grids can be moved straight
+ * in and out of direct or mapped buffers.
+ */
+public final class PuzzleCodec
+{
+    public static final int PACKED_BYTES = 41;
+    public static final int RECORD_BYTES = PACKED_BYTES * 2;
+    public static final int LINE_CHARS = 81;
+
+    private PuzzleCodec()
+    {
+    }
+
+    /**
+     * Packs a grid at an offset.
+     * @param grid grid to write
+     * @param buf destination buffer
+     * @param offset index of the first byte
+     */
+    public static void pack(int[][] grid, ByteBuffer buf, int offset)
+    {
+        for (int i = 0; i < 80; i += 2)
+        {
+            buf.put(offset + i / 2, (byte)((grid[i / 9][i % 9] << 4) | grid[(i + 1) / 9][(i + 1) % 9]));
+        }
+        buf.put(offset + 40, (byte)(grid[8][8] << 4));
+    }
+
+    /**
+     * Packs a grid at the buffer position and advances it by 41 bytes.
+     * @param grid grid to write
+     * @param buf destination buffer
+     */
+    public static void pack(int[][] grid, ByteBuffer buf)
+    {
+        pack(grid, buf, buf.position());
+        buf.position(buf.position() + PACKED_BYTES);
+    }
+
+    /**
+     * Unpacks a grid from an offset.
+     * @param buf source buffer
+     * @param offset index of the first byte
+     * @param grid grid to fill
+     */
+    public static void unpack(ByteBuffer buf, int offset, int[][] grid)
+    {
+        for (int i = 0; i < 80; i += 2)
+        {
+            int b = buf.get(offset + i / 2);
+            grid[i / 9][i % 9] = (b >> 4) & 0xF;
+            grid[(i + 1) / 9][(i + 1) % 9] = b & 0xF;
+        }
+        grid[8][8] = (buf.get(offset + 40) >> 4) & 0xF;
+    }
+
+    /**
+     * Unpacks a grid from the buffer position and advances it by 41 bytes.
+     * @param buf source buffer
+     * @param grid grid to fill
+     */
+    public static void unpack(ByteBuffer buf, int[][] grid)
+    {
+        unpack(buf, buf.position(), grid);
+        buf.position(buf.position() + PACKED_BYTES);
+    }
+
+    /**
+     * Writes a puzzle and its solution as one record at the buffer position.
+     * @param puzzle puzzle board, 0 for blanks
+     * @param solution solved board
+     * @param buf destination buffer, advanced by 82 bytes
+     */
+    public static void writeRecord(int[][] puzzle, int[][] solution, ByteBuffer buf)
+    {
+        pack(puzzle, buf);
+        pack(solution, buf);
+    }
+
+    /**
+     * Reads a record at an offset.
+     * @param buf source buffer
+     * @param offset index of the first byte of the record
+     * @param puzzle grid to fill with the puzzle
+     * @param solution grid to fill with the solution
+     */
+    public static void readRecord(ByteBuffer buf, int offset, int[][] puzzle, int[][] solution)
+    {
+        unpack(buf, offset, puzzle);
+        unpack(buf, offset + PACKED_BYTES, solution);
+    }
+
+    /**
+     * Writes a grid as 81 ASCII digits at the buffer position.
+     * @param grid grid to write
+     * @param buf destination buffer, advanced by 81 bytes
+     */
+    public static void writeLine(int[][] grid, ByteBuffer buf)
+    {
+        for (int i = 0; i < 9; i++)
+        {
+            for (int j = 0; j < 9; j++)
+            {
+                buf.put((byte)('0' + grid[i][j]));
+            }
+        }
+    }
+
+    /**
+     * Reads 81 ASCII digits at an offset.
+     * @param buf source buffer
+     * @param offset index of the first character
+     * @param grid grid to fill
+     */
+    public static void readLine(ByteBuffer buf, int offset, int[][] grid)
+    {
+        for (int i = 0; i < LINE_CHARS; i++)
+        {
+            grid[i / 9][i % 9] = digit(buf.get(offset + i));
+        }
+    }
+
+    /**
+     * @param grid grid to write
+     * @return the grid as an 81-character line
+     */
+    public static String toLine(int[][] grid)
+    {
+        char[] line = new char[LINE_CHARS];
+        for (int i = 0; i < LINE_CHARS; i++)
+        {
+            line[i] = (char)('0' + grid[i / 9][i % 9]);
+        }
+        return new String(line);
+    }
+
+    /**
+     * Reads an 81-character line into a grid.
+     * @param line digits in row-major order, 0 or '.' for blanks
+     * @param grid grid to fill
+     */
+    public static void fromLine(CharSequence line, int[][] grid)
+    {
+        if (line.length() < LINE_CHARS)
+        {
+            throw new IllegalArgumentException("Expected 81 cells but got " + line.length());
+        }
+        for (int i = 0; i < LINE_CHARS; i++)
+        {
+            grid[i / 9][i % 9] = digit(line.charAt(i));
+        }
+    }
+
+    private static int digit(int c)
+    {
+        if (c == '.')
+        {
+            return 0;
+        }
+        if (c < '0' || c > '9')
+        {
+            throw new IllegalArgumentException("Not a cell value: " + (char)c);
+        }
+        return c - '0';
+    }
+}
@@ -0,0 +1,191 @@
+package sudoku;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Makes any number of new-looking puzzles from a few rated seed puzzles.
+ * Each derived puzzle is a seed puzzle moved by a random SudokuTransform,
+ * applied to the givens and the solution together, so it keeps the seed's
+ * single solution and its rated difficulty with no solving or rating.
+ * A derivation is a transform of 81 cells, so a thread makes millions of
+ * puzzles a second. Every seed has about 1.2 * 10^12 transformed forms, far
+ * more than a player will see, though they all play alike underneath.
+ *
+ * Seeds are checked once when the deriver is built: each must have exactly
+ * one solution and be put in its own difficulty by the DifficultyRater.
+ * Seeds made by generate are numbered from SEED_BASE, so puzzles derived
+ * from them carry IDs that PuzzleGenerator.regenerate can rebuild. A
+ * deriver keeps no changing state and can be shared between threads.
+ */
+public final class PuzzleDeriver
+{
+    /** Base seed of the numbered seed puzzles made by generate. */
+    public static final long SEED_BASE = 0x5EEDL;
+
+    private final Map<String, Puzzle[]> seeds = new HashMap<>();
+    private final boolean numbered;
+    private final ThreadLocal<SudokuTransform> scratch = ThreadLocal.withInitial(SudokuTransform::new);
+
+    /**
+     * Builds a deriver from seed puzzles. Puzzles derived from them have no ID.
+     * @param puzzles seed puzzles, each rated at its difficulty
+     * @throws IllegalArgumentException if a seed does not have one solution
+     *         or the rater puts it in another difficulty
+     */
+    public PuzzleDeriver(Collection<Puzzle> puzzles)
+    {
+        this(puzzles, false);
+    }
+
+    private PuzzleDeriver(Collection<Puzzle> puzzles, boolean numbered)
+    {
+        this.numbered = numbered;
+        Map<String, List<Puzzle>> byDiff = new HashMap<>();
+        SudokuSolver solver = new DancingLinksSolver();
+        DifficultyRater rater = new DifficultyRater();
+        for (Puzzle p : puzzles)
+        {
+            int[][] givens = p.getGivens();
+            if (solver.countSolutions(givens, 2) != 1)
+            {
+                throw new IllegalArgumentException("Seed puzzle does not have one solution: " + p);
+            }
+            rater.rate(givens);
+            if (!rater.getTier().equals(p.getDifficulty()))
+            {
+                throw new IllegalArgumentException("Seed puzzle rates " + rater.getTier() + ": " + p);
+            }
+            byDiff.computeIfAbsent(p.getDifficulty(), d -> new ArrayList<>()).add(p);
+        }
+        for (Map.Entry<String, List<Puzzle>> e : byDiff.entrySet())
+        {
+            if (e.getValue().size() > 256)
+            {
+                throw new IllegalArgumentException("More than 256 seed puzzles for " + e.getKey());
+            }
+            seeds.put(e.getKey(), e.getValue().toArray(new Puzzle[0]));
+        }
+    }
+
+    /**
+     * Generates numbered seed puzzles with a rated PuzzleGenerator: seed i
+     * of a difficulty comes from PuzzleGenerator.seedFor(SEED_BASE, i).
+     * Takes some tens of milliseconds per seed.
+     * @param perDifficulty seed puzzles for each difficulty, 1 to 256
+     * @param difficulties difficulties to make seeds for
+     * @return a deriver whose puzzles carry IDs
+     */
+    public static PuzzleDeriver generate(int perDifficulty, String... difficulties)
+    {
+        if (perDifficulty < 1 || perDifficulty > 256)
+        {
+            throw new IllegalArgumentException("Seed puzzles per difficulty must be 1 to 256");
+        }
+        PuzzleGenerator generator = new PuzzleGenerator(true, true);
+        List<Puzzle> puzzles = new ArrayList<>();
+        for (String diff : difficulties)
+        {
+            for (int i = 0; i < perDifficulty; i++)
+            {
+                puzzles.add(generator.generate(diff, PuzzleGenerator.seedFor(SEED_BASE, i)));
+            }
+        }
+        return new PuzzleDeriver(puzzles, true);
+    }
+
+    /**
+     * Derives a puzzle from a random seed puzzle and transform.
+     * @param diff difficulty ("Easy", "Medium", "Hard")
+     * @return the puzzle
+     */
+    public Puzzle derive(String diff)
+    {
+        return derive(diff, ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * Derives the puzzle for a number: bits 51–58 pick the seed puzzle
+     * (modulo the number of seeds) and bits 0–50 seed the transform.
+     * @param diff difficulty ("Easy", "Medium", "Hard")
+     * @param number picks the puzzle
+     * @return the puzzle
+     */
+    public Puzzle derive(String diff, long number)
+    {
+        Puzzle[] list = seedsFor(diff);
+        int index = Puzzle.seedIndexOf(number) % list.length;
+        long id = Puzzle.derivedId(diff, index, number);
+        SudokuTransform t = scratch.get();
+        t.randomize(new SplittableRandom(Puzzle.transformSeedOf(id)));
+        return list[index].transform(t, numbered ? id : Puzzle.NO_ID);
+    }
+
+    /**
+     * Derives the puzzle for a number into caller's grids without making
+     * a Puzzle, for bulk output.
+     * @param diff difficulty ("Easy", "Medium", "Hard")
+     * @param number picks the puzzle, as for derive(diff, number)
+     * @param givens 9x9 grid to fill with the puzzle
+     * @param solution 9x9 grid to fill with its solution
+     * @return the puzzle's ID, or Puzzle.NO_ID if the seeds are not numbered
+     */
+    public long derive(String diff, long number, int[][] givens, int[][] solution)
+    {
+        Puzzle[] list = seedsFor(diff);
+        int index = Puzzle.seedIndexOf(number) % list.length;
+        long id = Puzzle.derivedId(diff, index, number);
+        SudokuTransform t = scratch.get();
+        t.randomize(new SplittableRandom(Puzzle.transformSeedOf(id)));
+        Puzzle seed = list[index];
+        for (int r = 0; r < 9; r++)
+        {
+            for (int c = 0; c < 9; c++)
+            {
+                int sr = t.isTranspose() ? t.col(c) : t.row(r);
+                int sc = t.isTranspose() ? t.row(r) : t.col(c);
+                givens[r][c] = t.digit(seed.given(sr, sc));
+                solution[r][c] = t.digit(seed.solution(sr, sc));
+            }
+        }
+        return numbered ? id : Puzzle.NO_ID;
+    }
+
+    /**
+     * Moves a seed puzzle by the transform in a derived ID.
+     * @param seed the seed puzzle the ID names
+     * @param id derived puzzle ID
+     * @return the derived puzzle
+     */
+    static Puzzle move(Puzzle seed, long id)
+    {
+        SudokuTransform t = new SudokuTransform();
+        t.randomize(new SplittableRandom(Puzzle.transformSeedOf(id)));
+        return seed.transform(t, id);
+    }
+
+    /**
+     * @param diff difficulty ("Easy", "Medium", "Hard")
+     * @return number of seed puzzles of that difficulty
+     */
+    public int count(String diff)
+    {
+        Puzzle[] list = seeds.get(diff);
+        return list == null ? 0 : list.length;
+    }
+
+    private Puzzle[] seedsFor(String diff)
+    {
+        Puzzle[] list = seeds.get(diff);
+        if (list == null)
+        {
+            throw new IllegalArgumentException("No seed puzzles for " + diff);
+        }
+        return list;
+    }
+}
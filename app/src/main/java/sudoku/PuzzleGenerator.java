@@ -0,0 +1,131 @@
+package sudoku;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Thread-safe way to make puzzles. The generator keeps no state of its own:
+ * each thread that calls it gets its own SudokuGenerator as scratch space,
+ * reseeded for every puzzle, and the result comes back as an immutable
+ * Puzzle. Any number of threads can share one PuzzleGenerator without
+ * locking. Randomness comes from a SplittableRandom per puzzle, so threads
+ * never contend for it and a puzzle ID gives the same puzzle on any JVM.
+ */
+public final class PuzzleGenerator
+{
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private final ThreadLocal<SudokuGenerator> scratch = ThreadLocal.withInitial(SudokuGenerator::new);
+    private final boolean rated;
+    private final boolean transformFill;
+
+    /**
+     * A generator whose difficulty follows the number of blanks, like SudokuGenerator.createBoard.
+     */
+    public PuzzleGenerator()
+    {
+        this(false);
+    }
+
+    /**
+     * @param rated true to keep only puzzles the DifficultyRater puts in the
+     *        requested tier, like SudokuGenerator.createRatedBoard
+     */
+    public PuzzleGenerator(boolean rated)
+    {
+        this(rated, false);
+    }
+
+    /**
+     * @param rated true to keep only puzzles the DifficultyRater puts in the
+     *        requested tier, like SudokuGenerator.createRatedBoard
+     * @param transformFill true to fill grids by transforming a seed grid
+     *        rather than by search, see SudokuGenerator.setTransformFill
+     */
+    public PuzzleGenerator(boolean rated, boolean transformFill)
+    {
+        this.rated = rated;
+        this.transformFill = transformFill;
+    }
+
+    /**
+     * Makes a puzzle from a random seed.
+     * @param diff the difficulty level (Easy, Medium, Hard)
+     * @return the puzzle, holding the ID that makes it again
+     */
+    public Puzzle generate(String diff)
+    {
+        return generate(diff, ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * Makes the puzzle for a seed.
+     * @param diff the difficulty level (Easy, Medium, Hard)
+     * @param seed seed for the random numbers; only the low 59 bits are used
+     * @return the puzzle
+     */
+    public Puzzle generate(String diff, long seed)
+    {
+        return regenerate(Puzzle.id(diff, rated, transformFill, seed));
+    }
+
+    /**
+     * Makes the puzzle an ID stands for, rated and filled as the ID says.
+     * A derived puzzle is made by regenerating its seed puzzle and moving it.
+     * @param id puzzle ID
+     * @return the puzzle
+     */
+    public Puzzle regenerate(long id)
+    {
+        if (Puzzle.isDerived(id))
+        {
+            String diff = Puzzle.difficultyOf(id);
+            Puzzle seed = regenerate(Puzzle.id(diff, true, true, seedFor(PuzzleDeriver.SEED_BASE, Puzzle.seedIndexOf(id))));
+            return PuzzleDeriver.move(seed, id);
+        }
+        SudokuGenerator sg = scratch.get();
+        sg.setSeed(Puzzle.seedOf(id));
+        sg.setTransformFill(Puzzle.isTransformFill(id));
+        if (Puzzle.isRated(id))
+        {
+            sg.createRatedBoard(Puzzle.difficultyOf(id));
+        }
+        else
+        {
+            sg.createBoard(Puzzle.difficultyOf(id));
+        }
+        return Puzzle.of(sg.getBoard(), sg.getSolution(), id);
+    }
+
+    /**
+     * Derives the seed of the puzzle at an index in a numbered run, so a
+     * run gives the same puzzles however its indexes are split between
+     * threads. Mixes with the SplitMix64 finalizer, so neighbouring
+     * indexes get unrelated seeds.
+     * @param base seed of the run
+     * @param index puzzle number in the run
+     * @return seed for that puzzle, 59 bits
+     */
+    public static long seedFor(long base, long index)
+    {
+        long z = base + (index + 1) * GOLDEN_GAMMA;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return (z ^ (z >>> 31)) & Puzzle.SEED_MASK;
+    }
+
+    /**
+     * @return true if puzzles are kept only when the rater agrees with the difficulty
+     */
+    public boolean isRated()
+    {
+        return rated;
+    }
+
+    /**
+     * @return true if grids are filled by transforming a seed grid
+     */
+    public boolean isTransformFill()
+    {
+        return transformFill;
+    }
+}
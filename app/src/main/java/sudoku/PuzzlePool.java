@@ -0,0 +1,211 @@
+package sudoku;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps a bounded queue of ready puzzles for each difficulty, refilled by
+ * background worker threads. Taking a puzzle is a queue poll; a puzzle is
+ * only generated on the caller's thread when the queue is empty.
+ *
+ * Every slot that needs filling is a request on a shared refill queue, so
+ * workers sleep until a puzzle is taken and never generate past the
+ * configured depth.
+ */
+public class PuzzlePool
+{
+    public static final String[] DIFFICULTIES = {"Easy", "Medium", "Hard"};
+
+    private Map<String, BlockingQueue<Puzzle>> ready = new HashMap<>();
+    private PuzzleGenerator generator = new PuzzleGenerator(false, "transform".equals(System.getProperty("sudoku.fill")));
+    private BlockingQueue<String> refills = new LinkedBlockingQueue<>();
+    private Thread[] workers;
+    private int depth;
+    private int refillPerSecond;
+    private volatile boolean running = false;
+    private long startTime = 0;
+    private AtomicLong hits = new AtomicLong();
+    private AtomicLong misses = new AtomicLong();
+    private AtomicLong generated = new AtomicLong();
+
+    /**
+     * @param depth puzzles kept ready per difficulty
+     * @param workers number of background generator threads
+     * @param refillPerSecond most puzzles each worker makes per second, 0 for no limit
+     */
+    public PuzzlePool(int depth, int workers, int refillPerSecond)
+    {
+        this.depth = depth;
+        this.refillPerSecond = refillPerSecond;
+        this.workers = new Thread[workers];
+        for (int i = 0; i < DIFFICULTIES.length; i++)
+        {
+            ready.put(DIFFICULTIES[i], new ArrayBlockingQueue<>(Math.max(1, depth)));
+        }
+    }
+
+    /**
+     * Builds a pool configured from the sudoku.pool.depth,
+     * sudoku.pool.workers and sudoku.pool.rate system properties.
+     * @return a pool that has not been started yet
+     */
+    public static PuzzlePool fromSystemProperties()
+    {
+        int cores = Runtime.getRuntime().availableProcessors();
+        return new PuzzlePool(Integer.getInteger("sudoku.pool.depth", 4),
+            Integer.getInteger("sudoku.pool.workers", Math.max(1, cores / 2)),
+            Integer.getInteger("sudoku.pool.rate", 0));
+    }
+
+    /**
+     * Starts the worker threads and asks them to fill every queue.
+     */
+    public synchronized void start()
+    {
+        if (running)
+        {
+            return;
+        }
+        running = true;
+        startTime = System.currentTimeMillis();
+        for (int i = 0; i < depth; i++)
+        {
+            for (int j = 0; j < DIFFICULTIES.length; j++)
+            {
+                refills.add(DIFFICULTIES[j]);
+            }
+        }
+        for (int i = 0; i < workers.length; i++)
+        {
+            workers[i] = new Thread(this::refillLoop, "puzzle-pool-" + i);
+            workers[i].setDaemon(true);
+            workers[i].setPriority(Thread.MIN_PRIORITY);
+            workers[i].start();
+        }
+    }
+
+    /**
+     * Stops the worker threads. Puzzles already queued can still be taken.
+     */
+    public synchronized void shutdown()
+    {
+        running = false;
+        for (int i = 0; i < workers.length; i++)
+        {
+            if (workers[i] != null)
+            {
+                workers[i].interrupt();
+            }
+        }
+    }
+
+    /**
+     * Takes a ready puzzle, generating one on this thread if none is queued.
+     * @param diff difficulty ("Easy", "Medium", "Hard")
+     * @return the puzzle
+     * @throws CancellationException if this thread is interrupted while generating
+     */
+    public Puzzle take(String diff)
+    {
+        BlockingQueue<Puzzle> queue = ready.get(diff);
+        Puzzle puzzle = queue == null ? null : queue.poll();
+        if (puzzle != null)
+        {
+            hits.incrementAndGet();
+            if (running)
+            {
+                refills.add(diff);
+            }
+            return puzzle;
+        }
+        misses.incrementAndGet();
+        return generator.generate(diff);
+    }
+
+    private void refillLoop()
+    {
+        long minGap = refillPerSecond > 0 ? 1000 / refillPerSecond : 0;
+        try
+        {
+            while (running)
+            {
+                String diff = refills.take();
+                long start = System.currentTimeMillis();
+                ready.get(diff).offer(generator.generate(diff));
+                generated.incrementAndGet();
+                long wait = minGap - (System.currentTimeMillis() - start);
+                if (wait > 0)
+                {
+                    Thread.sleep(wait);
+                }
+            }
+        }
+        catch (InterruptedException | CancellationException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @param diff difficulty ("Easy", "Medium", "Hard")
+     * @return puzzles currently ready for that difficulty
+     */
+    public int size(String diff)
+    {
+        BlockingQueue<Puzzle> queue = ready.get(diff);
+        return queue == null ? 0 : queue.size();
+    }
+
+    /**
+     * @return puzzles kept ready per difficulty
+     */
+    public int getDepth()
+    {
+        return depth;
+    }
+
+    /**
+     * @return takes served from a queue
+     */
+    public long getHits()
+    {
+        return hits.get();
+    }
+
+    /**
+     * @return takes that had to generate on the caller's thread
+     */
+    public long getMisses()
+    {
+        return misses.get();
+    }
+
+    /**
+     * @return puzzles made by the workers
+     */
+    public long getGenerated()
+    {
+        return generated.get();
+    }
+
+    /**
+     * @return puzzles made by the workers per second since start
+     */
+    public double getRefillRate()
+    {
+        long elapsed = System.currentTimeMillis() - startTime;
+        return startTime == 0 || elapsed == 0 ? 0 : generated.get() * 1000.0 / elapsed;
+    }
+
+    @Override
+    public String toString()
+    {
+        return String.format("PuzzlePool[Easy=%d Medium=%d Hard=%d of %d, hits=%d misses=%d generated=%d %.1f/s]",
+            size("Easy"), size("Medium"), size("Hard"), depth, getHits(), getMisses(), getGenerated(), getRefillRate());
+    }
+}
@@ -0,0 +1,669 @@
+package sudoku;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.CancellationException;
+
+/**
+ * Generates and solves Sudoku puzzles with adjustable difficulty.
+ */
+public class SudokuGenerator 
+{
+    private int[][] board = new int[9][9];
+    private int[][] solution = new int[9][9];
+    private ConstraintEngine engine = new ConstraintEngine();
+    private BacktrackingSolver solver = new BacktrackingSolver(engine);
+    private SudokuSolver counter = new DancingLinksSolver();
+    private DifficultyRater rater = new DifficultyRater();
+    private int ratedTries = 0;
+    private boolean uniqueCarving = true;
+    private boolean transformFill = false;
+    private SudokuTransform transform = new SudokuTransform();
+    private int[] order = new int[81];
+    private int removalsTried = 0;
+    private int removalsRejected = 0;
+    private long carveNanos = 0;
+    private SplittableRandom random;
+
+    public SudokuGenerator()
+    {
+        random = new SplittableRandom();
+    }
+
+    /**
+     * @param seed seed for the random numbers, so the same seed gives the same puzzles
+     */
+    public SudokuGenerator(long seed)
+    {
+        random = new SplittableRandom(seed);
+    }
+
+    /**
+     * Restarts the random numbers, so the next puzzle is the one this seed gives.
+     * @param seed seed for the random numbers
+     */
+    public void setSeed(long seed)
+    {
+        random = new SplittableRandom(seed);
+    }
+
+    /** 
+     * @return current board 
+     * */
+    public int[][] getBoard()
+    {
+        return board;
+    }
+
+    /**
+     * @return solved board
+     * */
+    public int[][] getSolution() 
+    {
+        return solution;
+    }
+
+    /**
+     * Replaces the current board with a copy of a grid.
+     * @param grid board to copy, 0 for empty cells
+     */
+    public void setBoard(int[][] grid)
+    {
+        for (int i = 0; i < 9; i++)
+        {
+            for (int j = 0; j < 9; j++)
+            {
+                board[i][j] = grid[i][j];
+            }
+        }
+        engine.load(board);
+    }
+
+    /**
+     * Creates a puzzle with given difficulty.
+     * Can be called again on the same generator to make another puzzle.
+     * @param diff the difficulty level (Easy, Medium, Hard)
+     */
+    public void createBoard(String diff)
+    {
+        fillBoard();
+        difficulty(diff);
+    }
+
+    /**
+     * Fills the board with a complete random solution, either by search or,
+     * with setTransformFill(true), by transforming a seed grid.
+     */
+    public void fillBoard()
+    {
+        if (transformFill)
+        {
+            int[][] seedGrid = SeedGrids.GRIDS[random.nextInt(SeedGrids.GRIDS.length)];
+            transform.randomize(random);
+            transform.apply(seedGrid, board);
+            engine.load(board);
+            for (int i = 0; i < 9; i++)
+            {
+                System.arraycopy(board[i], 0, solution[i], 0, 9);
+            }
+            return;
+        }
+        int rand;
+        int temp;
+        for (int i = 0; i < 9; i++)
+        {
+            for (int j = 0; j < 9; j++)
+            {
+                board[i][j] = 0;
+            }
+        }
+        for (int i = 0; i < 9; i++)
+        {
+            board[0][i] = i + 1;
+        }
+        for (int i = 0; i < 9; i++)
+        {
+            rand = random.nextInt(9);
+            temp = board[0][i];
+            board[0][i] = board[0][rand];
+            board[0][rand] = temp;
+        }
+        engine.load(board);
+        solveBoard(1, 0, 1);
+    }
+
+    /**
+     * Chooses how fillBoard makes a full grid. Search shuffles the first row
+     * and backtracks through the rest, so its time depends on how the search
+     * goes. Transform picks one of 256 fixed seed grids and applies a random SudokuTransform
+     * to it (relabeling, row, band, column and stack orders, transposition).
+     * That costs the same short time on every fill and reaches about
+     * 1.2 * 10^12 grids from each seed grid.
+     * @param transform true to fill by transforming a seed grid
+     */
+    public void setTransformFill(boolean transform)
+    {
+        transformFill = transform;
+    }
+
+    /**
+     * @return true if fillBoard transforms a seed grid rather than searching
+     */
+    public boolean isTransformFill()
+    {
+        return transformFill;
+    }
+
+    /**
+     * Creates puzzles until the difficulty rater puts one in the requested tier,
+     * so the difficulty follows the techniques needed rather than the number of
+     * blanks. Easy puzzles are carved like Easy; Medium and Hard are carved like
+     * Hard, which leaves the fewest clues and gives the rater the most to sort.
+     * @param diff the difficulty level (Easy, Medium, Hard)
+     * @throws IllegalArgumentException if diff is not one the rater reports,
+     *         which would otherwise loop forever
+     * @throws CancellationException if the thread is interrupted
+     */
+    public void createRatedBoard(String diff)
+    {
+        if (!Arrays.asList(PuzzlePool.DIFFICULTIES).contains(diff))
+        {
+            throw new IllegalArgumentException("Unknown difficulty " + diff);
+        }
+        String carveAs = diff.equals("Easy") ? "Easy" : "Hard";
+        ratedTries = 0;
+        do
+        {
+            checkInterrupted();
+            createBoard(carveAs);
+            ratedTries++;
+            rater.rate(board);
+        }
+        while (!rater.getTier().equals(diff));
+    }
+
+    /**
+     * Rates the current board.
+     * @return the rater holding the hardest technique and score
+     */
+    public DifficultyRater rate()
+    {
+        rater.rate(board);
+        return rater;
+    }
+
+    /**
+     * @return puzzles created by the last createRatedBoard before one matched
+     */
+    public int getRatedTries()
+    {
+        return ratedTries;
+    }
+
+    /**
+     * Solves board using backtracking with an explicit stack.
+     * Empty cells from (row, col) onward are filled in row-major order.
+     * @param row starting row
+     * @param col starting column
+     * @param num first number to try in the starting cell
+     */
+    public void solveBoard(int row, int col, int num)
+    {
+        if (solver.solveFrom(board, row, col, num))
+        {
+            for (int i = 0; i < 9; i++)
+            {
+                for (int j = 0; j < 9; j++)
+                {
+                    solution[i][j] = board[i][j];
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks if number can be placed.
+     * @param row row index
+     * @param col column index
+     * @param num number to place
+     * @return true if valid
+     */
+    public boolean canPlace(int row, int col, int num)
+    {
+        return engine.canPlace(row, col, num);
+    }
+
+    /**
+     * Writes a cell and keeps the constraint masks in step with the board.
+     * @param row row index
+     * @param col column index
+     * @param num number to write, 0 to clear the cell
+     */
+    private void setCell(int row, int col, int num)
+    {
+        if (board[row][col] != 0)
+        {
+            engine.unplace(row, col, board[row][col]);
+        }
+        board[row][col] = num;
+        if (num != 0)
+        {
+            engine.place(row, col, num);
+        }
+    }
+
+    /**
+     * Returns quadrant index for cell.
+     * @param row row index
+     * @param col column index
+     * @return quadrant number (1–9)
+     */
+    public int quadrantSelector(int row, int col)
+    {
+        if (row < 3 && col < 3)
+        {
+            return 1;
+        }
+        else if (row < 3 && col < 6)
+        {
+            return 2;
+        }
+        else if (row < 3 && col < 9)
+        {
+            return 3;
+        }
+        else if (row < 6 && col < 3)
+        {
+            return 4;
+        }
+        else if (row < 6 && col < 6)
+        {
+            return 5;
+        }
+        else if (row < 6 && col < 9)
+        {
+            return 6;
+        }
+        else if (row < 9 && col < 3)
+        {
+            return 7;
+        }
+        else if (row < 9 && col < 6)
+        {
+            return 8;
+        }
+        else 
+        {
+            return 9;
+        }
+    }
+
+    /**
+     * Validates number placement in a quadrant.
+     * @param quad quad quadrant index (1–9)
+     * @param num number to check
+     * @return true if valid
+     */
+    public boolean quadSolver(int quad, int num)
+    {
+        if (quad == 1)
+        {
+            for (int i = 0; i < 3; i++)
+            {
+                for (int j = 0; j < 3; j++)
+                {
+                    if (board[i][j] == num)
+                    {
+                        return false;
+                    }
+                }
+            }
+        }
+        else if (quad == 2)
+        {
+            for (int i = 0; i < 3; i++)
+            {
+                for (int j = 3; j < 6; j++)
+                {
+                    if (board[i][j] == num)
+                    {
+                        return false;
+                    }
+                }
+            }
+        }
+        else if (quad == 3)
+        {
+            for (int i = 0; i < 3; i++)
+            {
+                for (int j = 6; j < 9; j++)
+                {
+                    if (board[i][j] == num)
+                    {
+                        return false;
+                    }
+                }
+            }
+        }
+        else if (quad == 4)
+        {
+            for (int i = 3; i < 6; i++)
+            {
+                for (int j = 0; j < 3; j++)
+                {
+                    if (board[i][j] == num)
+                    {
+                        return false;
+                    }
+                }
+            }
+        }
+        else if (quad == 5)
+        {
+            for (int i = 3; i < 6; i++)
+            {
+                for (int j = 3; j < 6; j++)
+                {
+                    if (board[i][j] == num)
+                    {
+                        return false;
+                    }
+                }
+            }
+        }
+        else if (quad == 6)
+        {
+            for (int i = 3; i < 6; i++)
+            {
+                for (int j = 6; j < 9; j++)
+                {
+                    if (board[i][j] == num)
+                    {
+                        return false;
+                    }
+                }
+            }
+        }
+        else if (quad == 7)
+        {
+            for (int i = 6; i < 9; i++)
+            {
+                for (int j = 0; j < 3; j++)
+                {
+                    if (board[i][j] == num)
+                    {
+                        return false;
+                    }
+                }
+            }
+        }
+        else if (quad == 8)
+        {
+            for (int i = 6; i < 9; i++)
+            {
+                for (int j = 3; j < 6; j++)
+                {
+                    if (board[i][j] == num)
+                    {
+                        return false;
+                    }
+                }
+            }
+        }
+        else if (quad == 9)
+        {
+            for (int i = 6; i < 9; i++)
+            {
+                for (int j = 6; j < 9; j++)
+                {
+                    if (board[i][j] == num)
+                    {
+                        return false;
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Removes numbers to set difficulty.
+     * @param diff difficulty ("Easy", "Medium", "Hard")
+     */
+    public void difficulty(String diff)
+    {
+        if (uniqueCarving)
+        {
+            carve(removalTarget(diff));
+            return;
+        }
+        int randRow;
+        int randCol;
+        // remove 58
+        if (diff == "Hard")
+        {
+            for (int i = 0; i < 58; i++)
+            {
+                randRow = random.nextInt(9);
+                randCol = random.nextInt(9);
+                if (board[randRow][randCol] != 0)
+                {
+                    setCell(randRow, randCol, 0);
+                }
+                else
+                {
+                    i--;
+                }
+            }
+        }
+
+        // remove 50
+        if (diff == "Medium")
+        {
+            for (int i = 0; i < 50; i++)
+            {
+                randRow = random.nextInt(9);
+                randCol = random.nextInt(9);
+                if (board[randRow][randCol] != 0)
+                {
+                    setCell(randRow, randCol, 0);
+                }
+                else
+                {
+                    i--;
+                }
+            }
+        }
+
+        // remove 43
+        if (diff == "Easy")
+        {
+            for (int i = 0; i < 43; i++)
+            {
+                randRow = random.nextInt(9);
+                randCol = random.nextInt(9);
+                if (board[randRow][randCol] != 0)
+                {
+                    setCell(randRow, randCol, 0);
+                }
+                else
+                {
+                    i--;
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns how many numbers a difficulty removes.
+     * @param diff difficulty ("Easy", "Medium", "Hard")
+     * @return 43, 50 or 58, or 0 for an unknown difficulty
+     */
+    public int removalTarget(String diff)
+    {
+        if (diff.equals("Hard"))
+        {
+            return 58;
+        }
+        if (diff.equals("Medium"))
+        {
+            return 50;
+        }
+        if (diff.equals("Easy"))
+        {
+            return 43;
+        }
+        return 0;
+    }
+
+    /**
+     * Removes numbers in random order, keeping a removal only if the
+     * puzzle still has exactly one solution. Stops at the target or once
+     * every cell has been tried, so a hard puzzle may keep a few more
+     * numbers than asked for.
+     * @param target how many numbers to remove
+     * @throws CancellationException if the thread is interrupted
+     */
+    public void carve(int target)
+    {
+        long start = System.nanoTime();
+        removalsTried = 0;
+        removalsRejected = 0;
+        for (int i = 0; i < 81; i++)
+        {
+            order[i] = i;
+        }
+        int removed = 0;
+        for (int i = 0; i < 81 && removed < target; i++)
+        {
+            checkInterrupted();
+            int rand = i + random.nextInt(81 - i);
+            int cell = order[rand];
+            order[rand] = order[i];
+            order[i] = cell;
+
+            int row = cell / 9;
+            int col = cell % 9;
+            int num = board[row][col];
+            setCell(row, col, 0);
+            removalsTried++;
+            if (counter.countSolutions(board, 2) == 1)
+            {
+                removed++;
+            }
+            else
+            {
+                setCell(row, col, num);
+                removalsRejected++;
+            }
+        }
+        carveNanos = System.nanoTime() - start;
+    }
+
+    /**
+     * Stops generating once the thread is interrupted, so a cancelled load
+     * does not keep a core busy. The interrupt stays set for the caller.
+     * @throws CancellationException if the thread has been interrupted
+     */
+    private static void checkInterrupted()
+    {
+        if (Thread.currentThread().isInterrupted())
+        {
+            throw new CancellationException("Puzzle generation interrupted");
+        }
+    }
+
+    /**
+     * Turns uniqueness checking on or off for difficulty().
+     * @param unique true to keep only removals that leave one solution
+     */
+    public void setUniqueCarving(boolean unique)
+    {
+        uniqueCarving = unique;
+    }
+
+    /**
+     * Chooses the engine used to count solutions while carving.
+     * @param solver solving engine
+     */
+    public void setSolver(SudokuSolver solver)
+    {
+        counter = solver;
+    }
+
+    /**
+     * @return removals attempted by the last carve
+     */
+    public int getRemovalsTried()
+    {
+        return removalsTried;
+    }
+
+    /**
+     * @return removals undone by the last carve because the puzzle lost its unique solution
+     */
+    public int getRemovalsRejected()
+    {
+        return removalsRejected;
+    }
+
+    /**
+     * @return time taken by the last carve in nanoseconds
+     */
+    public long getCarveNanos()
+    {
+        return carveNanos;
+    }
+
+    /**
+     * Seed grids for transform fills, made once by GridGenerator's random
+     * fill from fixed seeds so they are the same on every run.
+     */
+    private static class SeedGrids
+    {
+        static final int[][][] GRIDS = new int[256][9][9];
+
+        static
+        {
+            GridGenerator gen = new GridGenerator(3);
+            for (int i = 0; i < GRIDS.length; i++)
+            {
+                gen.setSeed(i);
+                gen.fillBoard();
+                for (int cell = 0; cell < 81; cell++)
+                {
+                    GRIDS[i][cell / 9][cell % 9] = gen.getSolution()[cell];
+                }
+            }
+        }
+    }
+
+    public void displayBoard()
+    {
+        String table = "";
+        for (int i = 0; i < 9; i++)
+        {
+            for (int j = 0; j < 9; j++)
+            {
+                if ((i == 2 || i == 5) && j == 8)
+                {
+                    table += "[" + board[i][j] + "]\n" + 
+                        "----------------------------------\n";
+                }
+                else if (j == 8)
+                {
+                    table += "[" + board[i][j] + "]\n";
+                }
+                else if (j == 2 || j == 5)
+                {
+                    table += "[" + board[i][j] + "] | ";
+                }
+                else
+                {
+                    table += "[" + board[i][j] + "]";
+                }
+            }
+        } 
+        System.out.println(table);
+    }
+}
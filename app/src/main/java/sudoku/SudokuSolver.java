@@ -0,0 +1,46 @@
+package sudoku;
+
+/**
+ * Common interface for the Sudoku solving engines.
+ * Grids are 9x9 arrays with 0 for empty cells.
+ */
+public interface SudokuSolver
+{
+    /**
+     * Solves a grid in place.
+     * @param grid grid to solve, filled with the first solution found
+     * @return true if a solution was found
+     */
+    boolean solve(int[][] grid);
+
+    /**
+     * Counts the solutions of a grid, stopping early at a limit.
+     * The grid is left unchanged.
+     * @param grid grid to check
+     * @param limit stop counting once this many solutions are found
+     * @return number of solutions found, at most limit
+     */
+    int countSolutions(int[][] grid, int limit);
+
+    /**
+     * Looks up a solving engine by name.
+     * @param name "backtracking", "dlx" or "parallel"
+     * @return a new solver of that kind
+     */
+    static SudokuSolver byName(String name)
+    {
+        if (name.equals("backtracking"))
+        {
+            return new BacktrackingSolver();
+        }
+        if (name.equals("dlx"))
+        {
+            return new DancingLinksSolver();
+        }
+        if (name.equals("parallel"))
+        {
+            return new ParallelSolver();
+        }
+        throw new IllegalArgumentException("Unknown solver: " + name);
+    }
+}
@@ -0,0 +1,149 @@
+package sudoku;
+
+import java.util.SplittableRandom;
+
+/**
+ * One of the symmetries of the 9x9 board: a relabeling of the numbers, a
+ * reordering of the rows (rows within a band, and the bands), a reordering
+ * of the columns (columns within a stack, and the stacks), and an optional
+ * transposition. Applying one to a valid grid always gives a valid grid,
+ * and a puzzle and its solution moved by the same transform stay a puzzle
+ * and its solution, with the same difficulty.
+ *
+ * Cell (row, col) of the result is digits[v], where v is cell
+ * (rows[row], cols[col]) of the source, read after transposing the source
+ * if transpose is set.
+ */
+public class SudokuTransform
+{
+    private final int[] digits = new int[10];
+    private final int[] rows = new int[9];
+    private final int[] cols = new int[9];
+    private boolean transpose = false;
+    private final int[] bands = new int[3];
+
+    public SudokuTransform()
+    {
+        identity();
+    }
+
+    /**
+     * Resets to the transform that changes nothing.
+     */
+    public void identity()
+    {
+        for (int i = 0; i < 9; i++)
+        {
+            digits[i + 1] = i + 1;
+            rows[i] = i;
+            cols[i] = i;
+        }
+        transpose = false;
+    }
+
+    /**
+     * Picks a transform uniformly at random from all 9! * 6^8 * 2 of them.
+     * @param random source of the choice
+     */
+    public void randomize(SplittableRandom random)
+    {
+        for (int i = 0; i < 9; i++)
+        {
+            digits[i + 1] = i + 1;
+        }
+        for (int i = 9; i > 1; i--)
+        {
+            int j = 1 + random.nextInt(i);
+            int t = digits[i];
+            digits[i] = digits[j];
+            digits[j] = t;
+        }
+        shuffleLines(rows, random);
+        shuffleLines(cols, random);
+        transpose = random.nextBoolean();
+    }
+
+    /**
+     * Writes the transformed grid. Empty cells stay empty.
+     * @param from source grid
+     * @param to grid to fill; must not be the source
+     */
+    public void apply(int[][] from, int[][] to)
+    {
+        for (int r = 0; r < 9; r++)
+        {
+            int sr = rows[r];
+            for (int c = 0; c < 9; c++)
+            {
+                int sc = cols[c];
+                to[r][c] = digits[transpose ? from[sc][sr] : from[sr][sc]];
+            }
+        }
+    }
+
+    /**
+     * @param num number in the source, 1 to 9
+     * @return the number it becomes
+     */
+    public int digit(int num)
+    {
+        return digits[num];
+    }
+
+    /**
+     * @param row row of the result
+     * @return row of the source it is read from
+     */
+    public int row(int row)
+    {
+        return rows[row];
+    }
+
+    /**
+     * @param col column of the result
+     * @return column of the source it is read from
+     */
+    public int col(int col)
+    {
+        return cols[col];
+    }
+
+    /**
+     * @return true if the source is transposed first
+     */
+    public boolean isTranspose()
+    {
+        return transpose;
+    }
+
+    /**
+     * Orders the three bands (or stacks) and the three lines inside each.
+     */
+    private void shuffleLines(int[] lines, SplittableRandom random)
+    {
+        for (int b = 0; b < 3; b++)
+        {
+            bands[b] = b;
+        }
+        shuffle3(bands, 0, random);
+        for (int b = 0; b < 3; b++)
+        {
+            for (int i = 0; i < 3; i++)
+            {
+                lines[b * 3 + i] = bands[b] * 3 + i;
+            }
+            shuffle3(lines, b * 3, random);
+        }
+    }
+
+    private static void shuffle3(int[] a, int start, SplittableRandom random)
+    {
+        for (int i = 2; i > 0; i--)
+        {
+            int j = random.nextInt(i + 1);
+            int t = a[start + i];
+            a[start + i] = a[start + j];
+            a[start + j] = t;
+        }
+    }
+}
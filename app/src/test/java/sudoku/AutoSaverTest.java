@@ -0,0 +1,44 @@
+package sudoku;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Queued saves are coalesced into one write, and a cancelled save is
+ * never written.
+ */
+public class AutoSaverTest
+{
+    @Test
+    public void burstsAreWrittenOnce(@TempDir Path dir) throws IOException
+    {
+        Path path = dir.resolve("game.save");
+        AutoSaver saver = new AutoSaver(path, 200);
+        saver.request(new byte[] {1});
+        saver.request(new byte[] {2});
+        saver.request(new byte[] {3});
+        saver.close();
+        assertEquals(3, saver.getRequests());
+        assertEquals(1, saver.getWrites());
+        assertArrayEquals(new byte[] {3}, Files.readAllBytes(path));
+    }
+
+    @Test
+    public void cancelledSavesAreNotWritten(@TempDir Path dir) throws IOException
+    {
+        Path path = dir.resolve("game.save");
+        Files.write(path, new byte[] {9});
+        AutoSaver saver = new AutoSaver(path, 200);
+        saver.request(new byte[] {1});
+        saver.cancel();
+        saver.close();
+        assertEquals(0, saver.getWrites());
+        assertArrayEquals(new byte[] {9}, Files.readAllBytes(path));
+    }
+}
@@ -0,0 +1,104 @@
+package sudoku;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+
+/**
+ * A board and every transform of it share one canonical form, and the
+ * form is itself a transform of the board.
+ */
+public class CanonicalFormTest
+{
+    private final CanonicalForm form = new CanonicalForm();
+    private final SudokuTransform transform = new SudokuTransform();
+    private final SplittableRandom random = new SplittableRandom(24);
+
+    @Test
+    public void puzzlesKeepTheirFormUnderTransforms()
+    {
+        PuzzleGenerator generator = new PuzzleGenerator();
+        int[][] moved = new int[9][9];
+        int[][] canonical = new int[9][9];
+        int[][] again = new int[9][9];
+        for (int i = 0; i < 60; i++)
+        {
+            int[][] givens = generator.generate(PuzzlePool.DIFFICULTIES[i % 3], i).getGivens();
+            long fingerprint = form.canonicalize(givens);
+            form.copyForm(canonical);
+            assertEquals(clues(givens), clues(canonical));
+            for (int t = 0; t < 10; t++)
+            {
+                transform.randomize(random);
+                transform.apply(givens, moved);
+                assertEquals(fingerprint, form.canonicalize(moved));
+                form.copyForm(again);
+                assertArrayEquals(canonical, again);
+            }
+        }
+    }
+
+    @Test
+    public void fullGridsKeepTheirFormUnderTransforms()
+    {
+        PuzzleGenerator generator = new PuzzleGenerator();
+        int[][] moved = new int[9][9];
+        for (int i = 0; i < 4; i++)
+        {
+            int[][] grid = generator.generate("Easy", i).getSolution();
+            long fingerprint = form.canonicalize(grid);
+            for (int t = 0; t < 3; t++)
+            {
+                transform.randomize(random);
+                transform.apply(grid, moved);
+                assertEquals(fingerprint, form.canonicalize(moved));
+            }
+        }
+    }
+
+    @Test
+    public void formStartsWithNumbersInOrderOfFirstUse()
+    {
+        int[][] givens = new PuzzleGenerator().generate("Hard", 8).getGivens();
+        form.canonicalize(givens);
+        int[][] canonical = new int[9][9];
+        form.copyForm(canonical);
+        int next = 1;
+        for (int cell = 0; cell < 81; cell++)
+        {
+            int v = canonical[cell / 9][cell % 9];
+            assertTrue(v <= next);
+            if (v == next)
+            {
+                next++;
+            }
+        }
+        assertTrue(new ConstraintEngine().load(canonical));
+    }
+
+    @Test
+    public void differentPuzzlesHaveDifferentForms()
+    {
+        PuzzleGenerator generator = new PuzzleGenerator();
+        long a = form.canonicalize(generator.generate("Easy", 1).getGivens());
+        long b = form.canonicalize(generator.generate("Easy", 2).getGivens());
+        assertNotEquals(a, b);
+    }
+
+    private static int clues(int[][] grid)
+    {
+        int n = 0;
+        for (int[] row : grid)
+        {
+            for (int v : row)
+            {
+                n += v == 0 ? 0 : 1;
+            }
+        }
+        return n;
+    }
+}
@@ -0,0 +1,114 @@
+package sudoku;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The bitmask engine gives the same answer as the row, column and
+ * quadrant scans it replaced (the original canPlace, quadrantSelector and
+ * quadSolver) for every cell and number of a large seeded corpus.
+ */
+public class ConstraintEngineTest
+{
+    private final ConstraintEngine engine = new ConstraintEngine();
+    private final SudokuGenerator scanner = new SudokuGenerator();
+
+    @Test
+    public void matchesScansOnPartialPuzzles()
+    {
+        PuzzleGenerator generator = new PuzzleGenerator();
+        SplittableRandom random = new SplittableRandom(1);
+        for (int i = 0; i < 300; i++)
+        {
+            int[][] board = generator.generate(PuzzlePool.DIFFICULTIES[i % 3], i).getSolution();
+            int blanks = random.nextInt(82);
+            for (int n = 0; n < blanks; n++)
+            {
+                int cell = random.nextInt(81);
+                board[cell / 9][cell % 9] = 0;
+            }
+            engine.load(board);
+            assertAgree(board);
+        }
+    }
+
+    @Test
+    public void matchesScansOnRandomBoards()
+    {
+        SplittableRandom random = new SplittableRandom(2);
+        for (int i = 0; i < 2000; i++)
+        {
+            int[][] board = new int[9][9];
+            int filled = random.nextInt(82);
+            for (int n = 0; n < filled; n++)
+            {
+                int cell = random.nextInt(81);
+                board[cell / 9][cell % 9] = 1 + random.nextInt(9);
+            }
+            engine.load(board);
+            assertAgree(board);
+        }
+    }
+
+    @Test
+    public void matchesScansWhileClearingAGrid()
+    {
+        PuzzleGenerator generator = new PuzzleGenerator();
+        SplittableRandom random = new SplittableRandom(3);
+        for (int i = 0; i < 50; i++)
+        {
+            int[][] board = generator.generate("Easy", i).getSolution();
+            engine.load(board);
+            for (int n = 0; n < 81; n++)
+            {
+                int cell = random.nextInt(81);
+                int row = cell / 9;
+                int col = cell % 9;
+                if (board[row][col] != 0)
+                {
+                    engine.unplace(row, col, board[row][col]);
+                    board[row][col] = 0;
+                    assertAgree(board);
+                }
+            }
+        }
+    }
+
+    private void assertAgree(int[][] board)
+    {
+        scanner.setBoard(board);
+        for (int row = 0; row < 9; row++)
+        {
+            for (int col = 0; col < 9; col++)
+            {
+                int mask = 0;
+                for (int num = 1; num <= 9; num++)
+                {
+                    boolean scan = scanCanPlace(board, row, col, num);
+                    assertEquals(scan, engine.canPlace(row, col, num),
+                        "row " + row + ", column " + col + ", number " + num);
+                    mask |= scan ? 1 << (num - 1) : 0;
+                }
+                assertEquals(mask, engine.candidates(row, col));
+            }
+        }
+    }
+
+    /**
+     * The placement check as it was before the engine: scan the row and
+     * column, then the quadrant.
+     */
+    private boolean scanCanPlace(int[][] board, int row, int col, int num)
+    {
+        for (int i = 0; i < 9; i++)
+        {
+            if (board[row][i] == num || board[i][col] == num)
+            {
+                return false;
+            }
+        }
+        return scanner.quadSolver(scanner.quadrantSelector(row, col), num);
+    }
+}
@@ -0,0 +1,166 @@
+package sudoku;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Snapshots round-trip, and a snapshot whose grids or moves could not come
+ * from a real game is rejected with an IOException.
+ */
+public class GameSnapshotTest
+{
+    private static final int GRIDS = 10;
+    private static final int JOURNAL = GRIDS + PuzzleCodec.PACKED_BYTES * 3 + 8;
+
+    private Puzzle puzzle;
+    private int[][] board;
+    private int blank;
+    private int given;
+    private MoveJournal journal;
+
+    @BeforeEach
+    public void setUp()
+    {
+        puzzle = new PuzzleGenerator().generate("Medium", 3);
+        board = puzzle.getGivens();
+        blank = 0;
+        while (board[blank / 9][blank % 9] != 0)
+        {
+            blank++;
+        }
+        given = 0;
+        while (board[given / 9][given % 9] == 0)
+        {
+            given++;
+        }
+        journal = new MoveJournal();
+        journal.clear(0);
+        journal.record(blank / 9, blank % 9, 0, 4, 10);
+        board[blank / 9][blank % 9] = 4;
+    }
+
+    @Test
+    public void snapshotRoundTrips() throws IOException
+    {
+        byte[] data = encode(puzzle.getGivens(), board, puzzle.getSolution());
+        assertEquals(165 + 8, data.length);
+        GameSnapshot snapshot = GameSnapshot.decode(ByteBuffer.wrap(data));
+        assertEquals("Medium", snapshot.getDifficulty());
+        assertArrayEquals(puzzle.getGivens(), snapshot.getGivens());
+        assertArrayEquals(board, snapshot.getBoard());
+        assertArrayEquals(puzzle.getSolution(), snapshot.getSolution());
+        assertEquals(1234, snapshot.getElapsedMillis());
+        assertTrue(snapshot.isPaused());
+        assertFalse(snapshot.isSolved());
+        assertEquals(1, snapshot.getJournal().size());
+        assertEquals(journal.get(0), snapshot.getJournal().get(0));
+    }
+
+    @Test
+    public void fileRoundTrips(@TempDir Path dir) throws IOException
+    {
+        Path path = dir.resolve("game.save");
+        GameSnapshot.writeAtomically(path, encode(puzzle.getGivens(), board, puzzle.getSolution()));
+        assertArrayEquals(board, GameSnapshot.read(path).getBoard());
+        try (var files = Files.list(dir))
+        {
+            assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    public void rejectsBadHeaderAndTruncation()
+    {
+        byte[] data = encode(puzzle.getGivens(), board, puzzle.getSolution());
+        assertRejected(withByte(data, 0, 0));
+        assertRejected(withByte(data, 7, 2));
+        assertRejected(withByte(data, 8, 3));
+        assertRejected(java.util.Arrays.copyOf(data, data.length - 1));
+    }
+
+    @Test
+    public void rejectsNibblesAboveNine()
+    {
+        byte[] data = encode(puzzle.getGivens(), board, puzzle.getSolution());
+        assertRejected(withByte(data, GRIDS, data[GRIDS] | 0xF0));
+        assertRejected(withByte(data, GRIDS + PuzzleCodec.PACKED_BYTES + 20, 0xCC));
+        assertRejected(withByte(data, GRIDS + PuzzleCodec.PACKED_BYTES * 2, 0x0A));
+    }
+
+    @Test
+    public void rejectsGridsThatDisagree()
+    {
+        int[][] givens = puzzle.getGivens();
+        givens[given / 9][given % 9] = givens[given / 9][given % 9] % 9 + 1;
+        assertRejected(encode(givens, givens, puzzle.getSolution()));
+
+        int[][] dropped = copy(board);
+        dropped[given / 9][given % 9] = 0;
+        assertRejected(encode(puzzle.getGivens(), dropped, puzzle.getSolution()));
+
+        int[][] solution = puzzle.getSolution();
+        solution[blank / 9][blank % 9] = 0;
+        assertRejected(encode(puzzle.getGivens(), board, solution));
+    }
+
+    @Test
+    public void rejectsMovesOffTheBoard()
+    {
+        byte[] data = encode(puzzle.getGivens(), board, puzzle.getSolution());
+        int move = JOURNAL + MoveJournal.HEADER_BYTES;
+        assertRejected(withByte(data, move + 7, 200));
+        assertRejected(withByte(data, move + 6, 0x0C));
+        assertRejected(withByte(data, move + 6, 0xB4));
+    }
+
+    @Test
+    public void rejectsMovesOnGivens()
+    {
+        journal.record(given / 9, given % 9, board[given / 9][given % 9], 0, 20);
+        assertRejected(encode(puzzle.getGivens(), board, puzzle.getSolution()));
+
+        journal.clear(0);
+        journal.record(blank / 9, blank % 9, 0, 4, 10);
+        journal.record(given / 9, given % 9, board[given / 9][given % 9], board[given / 9][given % 9], 20);
+        journal.undo();
+        assertRejected(encode(puzzle.getGivens(), board, puzzle.getSolution()));
+    }
+
+    private byte[] encode(int[][] givens, int[][] grid, int[][] solution)
+    {
+        return GameSnapshot.encode("Medium", givens, grid, solution, 1234, true, false, journal);
+    }
+
+    private static byte[] withByte(byte[] data, int index, int value)
+    {
+        byte[] copy = data.clone();
+        copy[index] = (byte)value;
+        return copy;
+    }
+
+    private static void assertRejected(byte[] data)
+    {
+        assertThrows(IOException.class, () -> GameSnapshot.decode(ByteBuffer.wrap(data)));
+    }
+
+    private static int[][] copy(int[][] grid)
+    {
+        int[][] result = new int[9][];
+        for (int i = 0; i < 9; i++)
+        {
+            result[i] = grid[i].clone();
+        }
+        return result;
+    }
+}
@@ -0,0 +1,144 @@
+package sudoku;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Undo, redo and rewind put the board back exactly, and a journal
+ * survives export and import.
+ */
+public class MoveJournalTest
+{
+    @Test
+    public void packKeepsEveryField()
+    {
+        long move = MoveJournal.pack(80, 9, 3, 123456789L);
+        assertEquals(80, MoveJournal.cell(move));
+        assertEquals(9, MoveJournal.oldValue(move));
+        assertEquals(3, MoveJournal.newValue(move));
+        assertEquals(123456789L, MoveJournal.delta(move));
+    }
+
+    @Test
+    public void undoAndRedoRestoreTheBoard()
+    {
+        int[][] board = new int[9][9];
+        MoveJournal journal = new MoveJournal();
+        journal.clear(1000);
+        play(board, journal, 0, 0, 5, 1100);
+        play(board, journal, 4, 4, 7, 1250);
+        play(board, journal, 0, 0, 6, 1300);
+        assertFalse(journal.canRedo());
+
+        long move = journal.undo();
+        apply(board, MoveJournal.cell(move), MoveJournal.oldValue(move));
+        assertEquals(5, board[0][0]);
+        move = journal.undo();
+        apply(board, MoveJournal.cell(move), MoveJournal.oldValue(move));
+        assertEquals(0, board[4][4]);
+        assertTrue(journal.canRedo());
+
+        move = journal.redo();
+        apply(board, MoveJournal.cell(move), MoveJournal.newValue(move));
+        assertEquals(7, board[4][4]);
+        assertEquals(2, journal.position());
+        assertEquals(3, journal.size());
+
+        play(board, journal, 8, 8, 1, 1400);
+        assertEquals(3, journal.size());
+        assertFalse(journal.canRedo());
+        assertEquals(150, MoveJournal.delta(journal.get(1)));
+    }
+
+    @Test
+    public void rewindMatchesReplay()
+    {
+        int[][] board = new int[9][9];
+        MoveJournal journal = new MoveJournal();
+        journal.clear(0);
+        int[][][] states = new int[301][][];
+        states[0] = copy(board);
+        for (int i = 0; i < 300; i++)
+        {
+            int cell = (i * 37) % 81;
+            play(board, journal, cell / 9, cell % 9, i % 10, i);
+            states[i + 1] = copy(board);
+        }
+        int[] targets = {0, 300, 17, 250, 251, 3, 299};
+        for (int target : targets)
+        {
+            journal.rewind(board, target);
+            assertArrayEquals(states[target], board);
+            assertEquals(target, journal.position());
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> journal.rewind(board, 301));
+    }
+
+    @Test
+    public void exportRoundTrips()
+    {
+        int[][] board = new int[9][9];
+        MoveJournal journal = new MoveJournal();
+        journal.clear(5000);
+        for (int i = 0; i < 10; i++)
+        {
+            play(board, journal, i % 9, i / 9, i % 9 + 1, 5000 + i * 10);
+        }
+        journal.undo();
+        ByteBuffer buf = ByteBuffer.allocate(journal.exportBytes());
+        journal.exportTo(buf);
+        buf.flip();
+        MoveJournal read = new MoveJournal();
+        read.importFrom(buf);
+        assertEquals(journal.size(), read.size());
+        assertEquals(journal.position(), read.position());
+        assertEquals(journal.getStartMillis(), read.getStartMillis());
+        for (int i = 0; i < journal.size(); i++)
+        {
+            assertEquals(journal.get(i), read.get(i));
+        }
+    }
+
+    @Test
+    public void importRejectsMovesOffTheBoard()
+    {
+        MoveJournal journal = new MoveJournal();
+        journal.clear(0);
+        journal.record(0, 0, 0, 5, 10);
+        ByteBuffer buf = ByteBuffer.allocate(journal.exportBytes());
+        journal.exportTo(buf);
+        buf.putLong(MoveJournal.HEADER_BYTES, MoveJournal.pack(81, 0, 5, 10));
+        buf.flip();
+        assertThrows(IllegalArgumentException.class, () -> new MoveJournal().importFrom(buf));
+        buf.putLong(MoveJournal.HEADER_BYTES, MoveJournal.pack(0, 0, 12, 10));
+        buf.rewind();
+        assertThrows(IllegalArgumentException.class, () -> new MoveJournal().importFrom(buf));
+    }
+
+    private static void play(int[][] board, MoveJournal journal, int row, int col, int num, long now)
+    {
+        journal.record(row, col, board[row][col], num, now);
+        board[row][col] = num;
+    }
+
+    private static void apply(int[][] board, int cell, int num)
+    {
+        board[cell / 9][cell % 9] = num;
+    }
+
+    private static int[][] copy(int[][] grid)
+    {
+        int[][] result = new int[9][];
+        for (int i = 0; i < 9; i++)
+        {
+            result[i] = grid[i].clone();
+        }
+        return result;
+    }
+}
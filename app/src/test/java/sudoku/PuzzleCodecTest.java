@@ -0,0 +1,79 @@
+package sudoku;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.ByteBuffer;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Grids survive the packed and line forms unchanged.
+ */
+public class PuzzleCodecTest
+{
+    @Test
+    public void packedRecordsRoundTrip()
+    {
+        PuzzleGenerator generator = new PuzzleGenerator();
+        ByteBuffer buf = ByteBuffer.allocateDirect(PuzzleCodec.RECORD_BYTES * 20);
+        Puzzle[] puzzles = new Puzzle[20];
+        for (int i = 0; i < puzzles.length; i++)
+        {
+            puzzles[i] = generator.generate(PuzzlePool.DIFFICULTIES[i % 3], i);
+            PuzzleCodec.writeRecord(puzzles[i].getGivens(), puzzles[i].getSolution(), buf);
+        }
+        assertEquals(buf.capacity(), buf.position());
+        int[][] givens = new int[9][9];
+        int[][] solution = new int[9][9];
+        for (int i = 0; i < puzzles.length; i++)
+        {
+            PuzzleCodec.readRecord(buf, i * PuzzleCodec.RECORD_BYTES, givens, solution);
+            assertArrayEquals(puzzles[i].getGivens(), givens);
+            assertArrayEquals(puzzles[i].getSolution(), solution);
+        }
+    }
+
+    @Test
+    public void packKeepsEveryCellValue()
+    {
+        int[][] grid = new int[9][9];
+        for (int cell = 0; cell < 81; cell++)
+        {
+            grid[cell / 9][cell % 9] = (cell * 7) % 10;
+        }
+        ByteBuffer buf = ByteBuffer.allocate(PuzzleCodec.PACKED_BYTES);
+        PuzzleCodec.pack(grid, buf);
+        buf.flip();
+        int[][] read = new int[9][9];
+        PuzzleCodec.unpack(buf, read);
+        assertArrayEquals(grid, read);
+        assertEquals(PuzzleCodec.PACKED_BYTES, buf.position());
+    }
+
+    @Test
+    public void linesRoundTrip()
+    {
+        int[][] grid = new PuzzleGenerator().generate("Hard", 5).getGivens();
+        String line = PuzzleCodec.toLine(grid);
+        assertEquals(PuzzleCodec.LINE_CHARS, line.length());
+        int[][] read = new int[9][9];
+        PuzzleCodec.fromLine(line, read);
+        assertArrayEquals(grid, read);
+        PuzzleCodec.fromLine(line.replace('0', '.'), read);
+        assertArrayEquals(grid, read);
+
+        ByteBuffer buf = ByteBuffer.allocate(PuzzleCodec.LINE_CHARS);
+        PuzzleCodec.writeLine(grid, buf);
+        PuzzleCodec.readLine(buf, 0, read);
+        assertArrayEquals(grid, read);
+    }
+
+    @Test
+    public void badLinesAreRejected()
+    {
+        int[][] grid = new int[9][9];
+        assertThrows(IllegalArgumentException.class, () -> PuzzleCodec.fromLine("123", grid));
+        assertThrows(IllegalArgumentException.class, () -> PuzzleCodec.fromLine("x".repeat(81), grid));
+    }
+}
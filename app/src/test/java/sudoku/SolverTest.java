@@ -0,0 +1,98 @@
+package sudoku;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Dancing Links and backtracking must agree on every board: one solution
+ * for generated puzzles, the same count once extra clues are removed, and
+ * none once a clue is made to clash.
+ */
+public class SolverTest
+{
+    private final SudokuSolver dlx = new DancingLinksSolver();
+    private final SudokuSolver backtracking = new BacktrackingSolver();
+
+    @Test
+    public void generatedPuzzlesHaveOneSolution()
+    {
+        PuzzleGenerator generator = new PuzzleGenerator();
+        for (int i = 0; i < 30; i++)
+        {
+            Puzzle puzzle = generator.generate(PuzzlePool.DIFFICULTIES[i % 3], i);
+            int[][] givens = puzzle.getGivens();
+            assertEquals(1, dlx.countSolutions(givens, 2));
+            assertEquals(1, backtracking.countSolutions(givens, 2));
+            int[][] solved = puzzle.getGivens();
+            assertTrue(dlx.solve(solved));
+            assertArrayEquals(puzzle.getSolution(), solved);
+            solved = puzzle.getGivens();
+            assertTrue(backtracking.solve(solved));
+            assertArrayEquals(puzzle.getSolution(), solved);
+        }
+    }
+
+    @Test
+    public void solutionCountsAgree()
+    {
+        PuzzleGenerator generator = new PuzzleGenerator();
+        SplittableRandom random = new SplittableRandom(10);
+        for (int i = 0; i < 60; i++)
+        {
+            int[][] grid = generator.generate("Easy", i).getGivens();
+            for (int removed = 0; removed < 6; )
+            {
+                int cell = random.nextInt(81);
+                if (grid[cell / 9][cell % 9] != 0)
+                {
+                    grid[cell / 9][cell % 9] = 0;
+                    removed++;
+                }
+            }
+            int[][] before = copy(grid);
+            int count = backtracking.countSolutions(grid, 100);
+            assertEquals(count, dlx.countSolutions(grid, 100));
+            assertTrue(count >= 1);
+            assertArrayEquals(before, grid);
+        }
+    }
+
+    @Test
+    public void clashingCluesHaveNoSolution()
+    {
+        PuzzleGenerator generator = new PuzzleGenerator();
+        for (int i = 0; i < 20; i++)
+        {
+            Puzzle puzzle = generator.generate("Medium", i);
+            int[][] grid = puzzle.getGivens();
+            int blank = 0;
+            while (grid[blank / 9][blank % 9] != 0)
+            {
+                blank++;
+            }
+            int row = blank / 9;
+            int col = (blank % 9 + 1) % 9;
+            while (grid[row][col] == 0)
+            {
+                col = (col + 1) % 9;
+            }
+            grid[blank / 9][blank % 9] = grid[row][col];
+            assertEquals(0, backtracking.countSolutions(grid, 2));
+            assertEquals(0, dlx.countSolutions(grid, 2));
+        }
+    }
+
+    private static int[][] copy(int[][] grid)
+    {
+        int[][] result = new int[9][];
+        for (int i = 0; i < 9; i++)
+        {
+            result[i] = grid[i].clone();
+        }
+        return result;
+    }
+}
@@ -0,0 +1,78 @@
+package sudoku;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Rated generation lands in the requested tier, refuses tiers the rater
+ * never reports, and stops when its thread is interrupted.
+ */
+public class SudokuGeneratorTest
+{
+    @Test
+    public void ratedBoardsRateAtTheirDifficulty()
+    {
+        SudokuGenerator generator = new SudokuGenerator(15);
+        for (String diff : PuzzlePool.DIFFICULTIES)
+        {
+            generator.createRatedBoard(diff);
+            assertEquals(diff, generator.rate().getTier());
+            assertEquals(1, new DancingLinksSolver().countSolutions(generator.getBoard(), 2));
+        }
+    }
+
+    @Test
+    public void unknownDifficultyIsRejected()
+    {
+        SudokuGenerator generator = new SudokuGenerator(15);
+        assertThrows(IllegalArgumentException.class, () -> generator.createRatedBoard("Expert"));
+        assertThrows(IllegalArgumentException.class, () -> generator.createRatedBoard("easy"));
+    }
+
+    @Test
+    public void interruptStopsGeneration() throws InterruptedException
+    {
+        AtomicReference<Throwable> thrown = new AtomicReference<>();
+        Thread thread = new Thread(() ->
+        {
+            SudokuGenerator generator = new SudokuGenerator(6);
+            try
+            {
+                while (true)
+                {
+                    generator.createRatedBoard("Hard");
+                }
+            }
+            catch (RuntimeException e)
+            {
+                thrown.set(e);
+            }
+        });
+        thread.start();
+        Thread.sleep(200);
+        thread.interrupt();
+        thread.join(2000);
+        assertFalse(thread.isAlive());
+        assertEquals(CancellationException.class, thrown.get().getClass());
+    }
+
+    @Test
+    public void poolMissStopsWhenInterrupted()
+    {
+        PuzzlePool pool = new PuzzlePool(0, 0, 0);
+        Thread.currentThread().interrupt();
+        try
+        {
+            assertThrows(CancellationException.class, () -> pool.take("Hard"));
+        }
+        finally
+        {
+            Thread.interrupted();
+        }
+    }
+}
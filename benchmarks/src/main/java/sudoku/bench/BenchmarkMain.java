@@ -0,0 +1,31 @@
+package sudoku.bench;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the usual JMH command line, adding the GC
+ * profiler for allocation rates and writing JSON results to
+ * jmh-result.json unless the command line says otherwise.
+ */
+public class BenchmarkMain
+{
+    public static void main(String[] args) throws Exception
+    {
+        CommandLineOptions cmd = new CommandLineOptions(args);
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(cmd).addProfiler(GCProfiler.class);
+        if (!cmd.getResultFormat().hasValue())
+        {
+            options.resultFormat(ResultFormatType.JSON);
+        }
+        if (!cmd.getResult().hasValue())
+        {
+            options.result("jmh-result.json");
+        }
+        new Runner(options.build()).run();
+    }
+}
@@ -0,0 +1,68 @@
+package sudoku.bench;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import sudoku.CanonicalForm;
+import sudoku.DedupIndex;
+import sudoku.SudokuGenerator;
+
+/**
+ * Canonical forms of generated puzzles, alone and with the dedup index
+ * check that BulkGenerator --dedup makes for every puzzle. Cycles through
+ * 256 fixed-seed puzzles so one easy shape does not decide the score.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CanonicalBench
+{
+    @Param({"Easy", "Medium", "Hard"})
+    public String diff;
+
+    private CanonicalForm canon = new CanonicalForm();
+    private DedupIndex index = new DedupIndex(256);
+    private int[][][] puzzles = new int[256][][];
+    private int next = 0;
+
+    @Setup
+    public void setup()
+    {
+        SudokuGenerator sg = new SudokuGenerator(Fixtures.SEED);
+        for (int i = 0; i < puzzles.length; i++)
+        {
+            sg.createBoard(diff);
+            puzzles[i] = new int[9][];
+            for (int r = 0; r < 9; r++)
+            {
+                puzzles[i][r] = sg.getBoard()[r].clone();
+            }
+        }
+    }
+
+    @Benchmark
+    public long canonicalize()
+    {
+        next = (next + 1) & 255;
+        return canon.canonicalize(puzzles[next]);
+    }
+
+    @Benchmark
+    public boolean dedup()
+    {
+        next = (next + 1) & 255;
+        return index.add(canon.canonicalize(puzzles[next]));
+    }
+}
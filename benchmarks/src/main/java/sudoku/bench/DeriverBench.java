@@ -0,0 +1,56 @@
+package sudoku.bench;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import sudoku.Puzzle;
+import sudoku.PuzzleDeriver;
+import sudoku.PuzzleGenerator;
+
+/**
+ * Deriving puzzles from 16 rated seed puzzles: as immutable Puzzles, as the
+ * game takes them, and into reused grids, as bulk output writes them.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DeriverBench
+{
+    @Param({"Easy", "Medium", "Hard"})
+    public String diff;
+
+    private PuzzleDeriver deriver;
+    private int[][] givens = new int[9][9];
+    private int[][] solution = new int[9][9];
+    private long index = 0;
+
+    @Setup
+    public void setup()
+    {
+        deriver = PuzzleDeriver.generate(16, diff);
+    }
+
+    @Benchmark
+    public Puzzle derive()
+    {
+        return deriver.derive(diff, PuzzleGenerator.seedFor(Fixtures.SEED, index++));
+    }
+
+    @Benchmark
+    public long deriveGrids()
+    {
+        return deriver.derive(diff, PuzzleGenerator.seedFor(Fixtures.SEED, index++), givens, solution);
+    }
+}
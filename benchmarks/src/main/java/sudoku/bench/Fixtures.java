@@ -0,0 +1,85 @@
+package sudoku.bench;
+
+import sudoku.GridGenerator;
+import sudoku.PuzzleCodec;
+import sudoku.SudokuGenerator;
+
+/**
+ * Fixed puzzles shared by the benchmarks. Generated fixtures use fixed
+ * seeds, so every run measures the same boards.
+ */
+public final class Fixtures
+{
+    public static final long SEED = 20240601L;
+
+    /** Widely used adversarial puzzle for row-major backtracking. */
+    public static final String ADVERSARIAL =
+        "000000000000003085001020000000507000004000100090000000500000073002010000000040009";
+
+    /** "AI Escargot", a well-known hard puzzle for logical solvers. */
+    public static final String ESCARGOT =
+        "100007090030020008009600500005300900010080002600004000300000010040000007007000300";
+
+    private Fixtures()
+    {
+    }
+
+    /**
+     * Returns a fixture by name.
+     * @param name "Easy", "Medium" or "Hard" for a generated puzzle,
+     *        or "Adversarial" or "Escargot" for the fixed ones
+     * @return the puzzle and its solution
+     */
+    public static int[][][] puzzle(String name)
+    {
+        int[][][] fixture = new int[2][9][9];
+        if (name.equals("Adversarial") || name.equals("Escargot"))
+        {
+            PuzzleCodec.fromLine(name.equals("Adversarial") ? ADVERSARIAL : ESCARGOT, fixture[0]);
+            copy(fixture[0], fixture[1]);
+            new sudoku.DancingLinksSolver().solve(fixture[1]);
+            return fixture;
+        }
+        SudokuGenerator sg = new SudokuGenerator(SEED);
+        sg.createBoard(name);
+        copy(sg.getBoard(), fixture[0]);
+        copy(sg.getSolution(), fixture[1]);
+        return fixture;
+    }
+
+    /**
+     * Returns a puzzle as a flat board for the GridSpec solvers.
+     * @param name a puzzle() name for 9x9, or "16x16" or "25x25" for a
+     *        generated Hard puzzle of that size
+     * @return the puzzle, row-major, 0 for empty cells
+     */
+    public static int[] flat(String name)
+    {
+        if (name.equals("16x16") || name.equals("25x25"))
+        {
+            GridGenerator gen = new GridGenerator(name.equals("16x16") ? 4 : 5, SEED);
+            gen.createBoard("Hard");
+            return gen.getBoard().clone();
+        }
+        int[][] givens = puzzle(name)[0];
+        int[] board = new int[81];
+        for (int cell = 0; cell < 81; cell++)
+        {
+            board[cell] = givens[cell / 9][cell % 9];
+        }
+        return board;
+    }
+
+    /**
+     * Copies one 9x9 grid into another.
+     * @param from source grid
+     * @param to destination grid
+     */
+    public static void copy(int[][] from, int[][] to)
+    {
+        for (int i = 0; i < 9; i++)
+        {
+            System.arraycopy(from[i], 0, to[i], 0, 9);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package sudoku.bench;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import sudoku.SudokuGenerator;
+
+/**
+ * Puzzle generation: the full createBoard pipeline, the grid fill alone
+ * by search or by transforming a seed grid, the search fill in
+ * solveBoard, and clue removal in difficulty.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GeneratorBench
+{
+    @Param({"Easy", "Medium", "Hard"})
+    public String diff;
+
+    @Param({"search", "transform"})
+    public String fill;
+
+    private SudokuGenerator sg;
+    private int[][] firstRow = new int[9][9];
+    private int[][] solved;
+
+    @Setup
+    public void setup()
+    {
+        sg = new SudokuGenerator(Fixtures.SEED);
+        sg.setTransformFill(fill.equals("transform"));
+        solved = Fixtures.puzzle(diff)[1];
+        System.arraycopy(solved[0], 0, firstRow[0], 0, 9);
+    }
+
+    @Benchmark
+    public int[][] createBoard()
+    {
+        sg.createBoard(diff);
+        return sg.getBoard();
+    }
+
+    @Benchmark
+    public int[][] fillBoard()
+    {
+        sg.fillBoard();
+        return sg.getSolution();
+    }
+
+    @Benchmark
+    public int[][] solveBoard()
+    {
+        sg.setBoard(firstRow);
+        sg.solveBoard(1, 0, 1);
+        return sg.getSolution();
+    }
+
+    @Benchmark
+    public int[][] difficulty()
+    {
+        sg.setBoard(solved);
+        sg.difficulty(diff);
+        return sg.getBoard();
+    }
+}
@@ -0,0 +1,68 @@
+package sudoku.bench;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import sudoku.HintEngine;
+
+/**
+ * Hint search on the starting position of each fixture, and the candidate
+ * update made for every keystroke (type a number, then clear it).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HintBench
+{
+    @Param({"Easy", "Hard", "Escargot", "Adversarial"})
+    public String puzzle;
+
+    private HintEngine hints = new HintEngine();
+    private int row;
+    private int col;
+    private int num;
+
+    @Setup
+    public void setup()
+    {
+        int[][][] fixture = Fixtures.puzzle(puzzle);
+        hints.load(fixture[0], fixture[1]);
+        for (int cell = 0; cell < 81; cell++)
+        {
+            if (fixture[0][cell / 9][cell % 9] == 0)
+            {
+                row = cell / 9;
+                col = cell % 9;
+                num = fixture[1][row][col];
+                break;
+            }
+        }
+    }
+
+    @Benchmark
+    public int hint()
+    {
+        hints.hint();
+        return hints.getNum();
+    }
+
+    @Benchmark
+    public int update()
+    {
+        hints.set(row, col, num);
+        hints.set(row, col, 0);
+        return hints.candidates(row, col);
+    }
+}
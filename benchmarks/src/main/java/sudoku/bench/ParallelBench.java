@@ -0,0 +1,88 @@
+package sudoku.bench;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import sudoku.GridSolver;
+import sudoku.GridSpec;
+import sudoku.ParallelSolver;
+
+/**
+ * Scaling of the fork-join solver from 1 to 8 threads, against the
+ * sequential GridSolver (threads = 0), on hard 9x9 fixtures and Hard
+ * 16x16 and 25x25 puzzles. countSolutions proves uniqueness, so it walks
+ * the whole tree; solve stops at the first solution.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParallelBench
+{
+    @Param({"Escargot", "Adversarial", "16x16", "25x25"})
+    public String puzzle;
+
+    @Param({"0", "1", "2", "4", "8"})
+    public int threads;
+
+    private int[] givens;
+    private int[] grid;
+    private GridSolver sequential;
+    private ParallelSolver parallel;
+
+    @Setup
+    public void setup()
+    {
+        givens = Fixtures.flat(puzzle);
+        grid = new int[givens.length];
+        GridSpec spec = GridSpec.of((int)Math.round(Math.sqrt(Math.sqrt(givens.length))));
+        sequential = new GridSolver(spec);
+        if (threads > 0)
+        {
+            parallel = new ParallelSolver(spec, new ForkJoinPool(threads));
+        }
+    }
+
+    @TearDown
+    public void tearDown()
+    {
+        if (parallel != null)
+        {
+            parallel.getPool().shutdown();
+        }
+    }
+
+    @Benchmark
+    public int[] solve()
+    {
+        System.arraycopy(givens, 0, grid, 0, grid.length);
+        if (parallel == null)
+        {
+            sequential.solve(grid);
+        }
+        else
+        {
+            parallel.solve(grid);
+        }
+        return grid;
+    }
+
+    @Benchmark
+    public int countSolutions()
+    {
+        return parallel == null ? sequential.countSolutions(givens, 2) : parallel.countSolutions(givens, 2);
+    }
+}
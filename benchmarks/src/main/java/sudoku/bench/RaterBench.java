@@ -0,0 +1,45 @@
+package sudoku.bench;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import sudoku.DifficultyRater;
+
+/**
+ * Difficulty rating of the fixture puzzles with the technique ladder.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RaterBench
+{
+    @Param({"Easy", "Medium", "Hard", "Escargot", "Adversarial"})
+    public String puzzle;
+
+    private DifficultyRater rater = new DifficultyRater();
+    private int[][] givens;
+
+    @Setup
+    public void setup()
+    {
+        givens = Fixtures.puzzle(puzzle)[0];
+    }
+
+    @Benchmark
+    public int rate()
+    {
+        return rater.rate(givens);
+    }
+}
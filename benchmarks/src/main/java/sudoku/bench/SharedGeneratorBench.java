@@ -0,0 +1,41 @@
+package sudoku.bench;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import sudoku.Puzzle;
+import sudoku.PuzzleGenerator;
+
+/**
+ * One PuzzleGenerator shared by every benchmark thread. Runs on 4 threads;
+ * change with -t N to see how generation scales with no locking.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class SharedGeneratorBench
+{
+    @Param({"Easy", "Medium", "Hard"})
+    public String diff;
+
+    private PuzzleGenerator generator = new PuzzleGenerator();
+
+    @Benchmark
+    public Puzzle generate()
+    {
+        return generator.generate(diff);
+    }
+}
@@ -0,0 +1,70 @@
+package sudoku.bench;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import sudoku.GridGenerator;
+
+/**
+ * Generation and solving per board size: 4x4, 9x9, 16x16 and 25x25. The
+ * solve benchmark solves a Hard puzzle made in setup; fill is the random
+ * full board alone, and createBoard the whole fill and carve.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SizeBench
+{
+    @Param({"2", "3", "4", "5"})
+    public int box;
+
+    @Param({"Easy", "Hard"})
+    public String diff;
+
+    private GridGenerator gen;
+    private int[] puzzle;
+    private int[] grid;
+
+    @Setup
+    public void setup()
+    {
+        gen = new GridGenerator(box, Fixtures.SEED);
+        gen.createBoard(diff);
+        puzzle = gen.getBoard().clone();
+        grid = new int[puzzle.length];
+    }
+
+    @Benchmark
+    public int[] createBoard()
+    {
+        gen.createBoard(diff);
+        return gen.getBoard();
+    }
+
+    @Benchmark
+    public int[] fill()
+    {
+        gen.fillBoard();
+        return gen.getSolution();
+    }
+
+    @Benchmark
+    public int[] solve()
+    {
+        System.arraycopy(puzzle, 0, grid, 0, grid.length);
+        gen.getSolver().solve(grid);
+        return grid;
+    }
+}
@@ -0,0 +1,59 @@
+package sudoku.bench;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import sudoku.SudokuSolver;
+
+/**
+ * Solving engines on easy, medium, hard and pathological puzzles:
+ * a full solve, and the solution count used for uniqueness checks.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SolverBench
+{
+    @Param({"Easy", "Medium", "Hard", "Escargot", "Adversarial"})
+    public String puzzle;
+
+    @Param({"backtracking", "dlx", "parallel"})
+    public String solver;
+
+    private SudokuSolver engine;
+    private int[][] givens;
+    private int[][] grid = new int[9][9];
+
+    @Setup
+    public void setup()
+    {
+        engine = SudokuSolver.byName(solver);
+        givens = Fixtures.puzzle(puzzle)[0];
+    }
+
+    @Benchmark
+    public int[][] solve()
+    {
+        Fixtures.copy(givens, grid);
+        engine.solve(grid);
+        return grid;
+    }
+
+    @Benchmark
+    public int countSolutions()
+    {
+        return engine.countSolutions(givens, 2);
+    }
+}
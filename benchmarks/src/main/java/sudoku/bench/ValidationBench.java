@@ -0,0 +1,104 @@
+package sudoku.bench;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import sudoku.ConflictTracker;
+import sudoku.SudokuDisplay;
+import sudoku.SudokuGenerator;
+
+/**
+ * Board checks: canPlace over every cell and number, the conflict tracker
+ * (full reload and a single-cell edit), checkNine and checkWin.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidationBench
+{
+    @Param({"Easy", "Hard"})
+    public String puzzle;
+
+    private SudokuGenerator sg = new SudokuGenerator(Fixtures.SEED);
+    private int[][] board;
+    private int[][] solution;
+    private ConflictTracker tracker = new ConflictTracker();
+    private int cell = 0;
+
+    @Setup
+    public void setup()
+    {
+        int[][][] fixture = Fixtures.puzzle(puzzle);
+        board = fixture[0];
+        solution = fixture[1];
+        sg.setBoard(board);
+        tracker.load(board);
+    }
+
+    @Benchmark
+    public void canPlaceAll(Blackhole bh)
+    {
+        for (int i = 0; i < 9; i++)
+        {
+            for (int j = 0; j < 9; j++)
+            {
+                for (int num = 1; num <= 9; num++)
+                {
+                    bh.consume(sg.canPlace(i, j, num));
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public int conflictLoad()
+    {
+        tracker.load(board);
+        return tracker.conflictCount();
+    }
+
+    @Benchmark
+    public int conflictEdit()
+    {
+        // type a number into a cell and clear it again, as a player would
+        cell = (cell + 1) % 81;
+        int row = cell / 9;
+        int col = cell % 9;
+        if (board[row][col] != 0)
+        {
+            return 0;
+        }
+        tracker.set(row, col, solution[row][col] % 9 + 1);
+        int flips = tracker.changedCount();
+        tracker.set(row, col, 0);
+        return flips + tracker.changedCount();
+    }
+
+    @Benchmark
+    public void checkNine(Blackhole bh)
+    {
+        for (int num = 1; num <= 9; num++)
+        {
+            bh.consume(SudokuDisplay.checkNine(board, num));
+        }
+    }
+
+    @Benchmark
+    public boolean checkWin()
+    {
+        return SudokuDisplay.checkWin(solution, solution);
+    }
+}